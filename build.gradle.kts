@@ -35,6 +35,8 @@ plugins {
     // Gradle Qodana Plugin
     id("org.jetbrains.qodana") version "0.1.13"
     id("io.freefair.lombok") version "6.4.3"
+    // JMH benchmarks - run with `./gradlew jmh`
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 
@@ -63,6 +65,31 @@ dependencies {
     testRuntimeOnly("org.junit.jupiter", "junit-jupiter-engine", "5.8.1")
 }
 
+// IDE classes are provided by Gradle IntelliJ Plugin as compile only, benchmarks need them at runtime.
+// Benchmarks run in light IDE fixture, so they also get the test framework of tests
+configurations {
+    named("jmhCompileClasspath") { extendsFrom(configurations.compileOnly.get()) }
+    named("jmhRuntimeClasspath") { extendsFrom(configurations.compileOnly.get()) }
+    named("jmhImplementation") { extendsFrom(configurations.testImplementation.get()) }
+    named("jmhRuntimeOnly") { extendsFrom(configurations.testRuntimeOnly.get()) }
+}
+
+// Configure JMH Gradle Plugin - read more: https://github.com/melix/jmh-gradle-plugin
+jmh {
+    jmhVersion.set("1.35")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // allocation per operation
+    profilers.add("gc")
+    // JSON results are comparable across versions, e.g. with https://jmh.morethan.io
+    resultFormat.set("JSON")
+    resultsFile.set(project.layout.buildDirectory.file("reports/jmh/results.json"))
+    findProperty("jmhIncludes")?.let { includes.add(it.toString()) }
+    // test application in the fork is set up like in tests: IDE home, sandbox, system properties
+    jvmArgsAppend.addAll(provider { tasks.test.get().allJvmArgs })
+}
+
 // Configure Gradle IntelliJ Plugin - read more: https://plugins.jetbrains.com/docs/intellij/tools-gradle-intellij-plugin.html
 intellij {
     pluginName.set(properties("pluginName"))
@@ -88,6 +115,10 @@ qodana {
 }
 
 tasks {
+    named("jmh") {
+        dependsOn(prepareTestingSandbox)
+    }
+
     wrapper {
         gradleVersion = properties("gradleVersion")
     }
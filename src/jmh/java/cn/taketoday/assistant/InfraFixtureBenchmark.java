@@ -0,0 +1,257 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant;
+
+import com.intellij.facet.FacetManager;
+import com.intellij.facet.ModifiableFacetModel;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.JavaSdk;
+import com.intellij.openapi.roots.ContentEntry;
+import com.intellij.openapi.roots.ModifiableRootModel;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.PsiTestUtil;
+import com.intellij.testFramework.fixtures.DefaultLightProjectDescriptor;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.JavaCodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.JavaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+import com.intellij.testFramework.fixtures.impl.LightTempDirTestFixtureImpl;
+import com.intellij.util.PathUtil;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import cn.taketoday.assistant.facet.InfraFacet;
+import cn.taketoday.assistant.facet.InfraFileSet;
+import cn.taketoday.beans.factory.BeanFactory;
+
+/**
+ * Base of benchmarks against a synthetic project in light IDE fixture.
+ * <p>
+ * Fixture set up starts the test application ({@code TestApplicationManager})
+ * in the benchmark fork once per trial. The module has framework library,
+ * {@link InfraFacet} and a file set with {@link #xmlFilesCount} beans XML files
+ * and {@link #configurationsCount} {@code @Configuration} classes. There are
+ * also {@link #componentsCount} {@code @Component} classes. All beans are of
+ * {@link #SERVICE_TYPES_COUNT} service types, so lookups by class have
+ * candidates in every configuration.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+public abstract class InfraFixtureBenchmark {
+
+  protected static final String PACKAGE = "com.example";
+
+  protected static final int SERVICE_TYPES_COUNT = 10;
+
+  /**
+   * Beans in every XML file and in every configuration class.
+   */
+  protected static final int BEANS_PER_CONFIG = 20;
+
+  private static final LightProjectDescriptor PROJECT_DESCRIPTOR = new DefaultLightProjectDescriptor(
+          // mock JDK is not shipped with IDE distribution
+          () -> JavaSdk.getInstance().createJdk("benchmark-jdk", System.getProperty("java.home"), false)) {
+
+    @Override
+    public void configureModule(Module module, ModifiableRootModel model, ContentEntry contentEntry) {
+      super.configureModule(module, model, contentEntry);
+      File jar = new File(PathUtil.getJarPathForClass(BeanFactory.class));
+      PsiTestUtil.addLibrary(model, "today-beans", jar.getParent(), jar.getName());
+    }
+  };
+
+  @Param({ "10" })
+  public int xmlFilesCount;
+
+  @Param({ "100" })
+  public int componentsCount;
+
+  @Param({ "10" })
+  public int configurationsCount;
+
+  protected JavaCodeInsightTestFixture fixture;
+
+  protected Project project;
+
+  protected Module module;
+
+  protected InfraFileSet fileSet;
+
+  protected final List<XmlFile> xmlFiles = new ArrayList<>();
+
+  protected PsiClass[] serviceTypes;
+
+  @Setup(Level.Trial)
+  public void setUpFixture() throws Exception {
+    IdeaTestFixtureFactory factory = IdeaTestFixtureFactory.getFixtureFactory();
+    TestFixtureBuilder<IdeaProjectTestFixture> builder = factory.createLightFixtureBuilder(PROJECT_DESCRIPTOR, getClass().getSimpleName());
+    this.fixture = JavaTestFixtureFactory.getFixtureFactory()
+            .createCodeInsightFixture(builder.getFixture(), new LightTempDirTestFixtureImpl(true));
+    EdtTestUtil.runInEdtAndWait(() -> {
+      fixture.setUp();
+      this.project = fixture.getProject();
+      this.module = fixture.getModule();
+      createProject();
+    });
+    this.serviceTypes = ReadAction.compute(() -> {
+      PsiClass[] types = new PsiClass[SERVICE_TYPES_COUNT];
+      JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+      for (int i = 0; i < SERVICE_TYPES_COUNT; i++) {
+        types[i] = Objects.requireNonNull(facade.findClass(PACKAGE + ".Service" + i, GlobalSearchScope.projectScope(project)));
+      }
+      return types;
+    });
+    ReadAction.run(this::setUp);
+  }
+
+  /**
+   * Benchmark specific set up, called in read action after project is created.
+   */
+  protected void setUp() {
+
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownFixture() throws Exception {
+    EdtTestUtil.runInEdtAndWait(() -> {
+      try {
+        // light project is reused by next trial
+        WriteAction.run(() -> {
+          ModifiableFacetModel model = FacetManager.getInstance(module).createModifiableModel();
+          model.removeFacet(fileSet.getFacet());
+          model.commit();
+        });
+      }
+      finally {
+        xmlFiles.clear();
+        fixture.tearDown();
+      }
+    });
+  }
+
+  /**
+   * Invalidates all PSI dependent caches, as any change in code does.
+   */
+  protected void dropPsiCaches() {
+    EdtTestUtil.runInEdtAndWait(() -> WriteAction.run(() -> PsiManager.getInstance(project).dropPsiCaches()));
+  }
+
+  protected PsiClass serviceType(int index) {
+    return serviceTypes[index % SERVICE_TYPES_COUNT];
+  }
+
+  private void createProject() {
+    addAnnotations();
+    for (int i = 0; i < SERVICE_TYPES_COUNT; i++) {
+      fixture.addClass("package " + PACKAGE + ";\npublic interface Service" + i + " {}");
+    }
+    for (int i = 0; i < componentsCount; i++) {
+      fixture.addClass("package " + PACKAGE + ";\n@cn.taketoday.stereotype.Component\npublic class Component" + i
+              + " implements Service" + i % SERVICE_TYPES_COUNT + " {}");
+    }
+
+    List<PsiFile> configs = new ArrayList<>();
+    for (int i = 0; i < xmlFilesCount; i++) {
+      StringBuilder builder = new StringBuilder();
+      builder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+              .append("<beans xmlns=\"http://www.springframework.org/schema/beans\">\n");
+      for (int j = 0; j < BEANS_PER_CONFIG; j++) {
+        builder.append("  <bean id=\"xml").append(i).append('_').append(j).append("\" class=\"").append(PACKAGE)
+                .append(".Component").append((i * BEANS_PER_CONFIG + j) % componentsCount).append("\"/>\n");
+      }
+      builder.append("</beans>\n");
+      XmlFile xmlFile = (XmlFile) fixture.addFileToProject("beans" + i + ".xml", builder.toString());
+      xmlFiles.add(xmlFile);
+      configs.add(xmlFile);
+    }
+    for (int i = 0; i < configurationsCount; i++) {
+      StringBuilder builder = new StringBuilder();
+      builder.append("package ").append(PACKAGE).append(";\n")
+              .append("@cn.taketoday.context.annotation.Configuration\n")
+              .append("public class Config").append(i).append(" {\n");
+      for (int j = 0; j < BEANS_PER_CONFIG; j++) {
+        int type = j % SERVICE_TYPES_COUNT;
+        builder.append("  @cn.taketoday.context.annotation.Bean\n")
+                .append("  public Service").append(type).append(" bean").append(i).append('_').append(j)
+                .append("() { return null; }\n");
+      }
+      builder.append("}\n");
+      configs.add(fixture.addClass(builder.toString()).getContainingFile());
+    }
+
+    WriteAction.run(() -> {
+      InfraFacet facet = FacetManager.getInstance(module).addFacet(InfraFacet.getFacetType(), "Infra", null);
+      this.fileSet = facet.addFileSet("benchmark", "benchmark");
+      for (PsiFile config : configs) {
+        fileSet.addFile(config.getVirtualFile());
+      }
+    });
+  }
+
+  /**
+   * Stereotype annotations are not in the beans library, declared as sources.
+   */
+  private void addAnnotations() {
+    fixture.addClass("""
+            package cn.taketoday.stereotype;
+            @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+            public @interface Component {
+              String[] value() default {};
+            }""");
+    fixture.addClass("""
+            package cn.taketoday.context.annotation;
+            @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+            @cn.taketoday.stereotype.Component
+            public @interface Configuration {
+              String[] value() default {};
+            }""");
+    fixture.addClass("""
+            package cn.taketoday.context.annotation;
+            @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+            public @interface Bean {
+              String[] value() default {};
+              String[] name() default {};
+            }""");
+  }
+}
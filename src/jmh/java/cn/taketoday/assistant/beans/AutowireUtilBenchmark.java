@@ -0,0 +1,89 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.beans;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cn.taketoday.assistant.InfraFixtureBenchmark;
+import cn.taketoday.assistant.context.model.InfraModel;
+import cn.taketoday.assistant.impl.InfraCombinedModelFactory;
+import cn.taketoday.assistant.model.BeanPointer;
+
+/**
+ * {@link AutowireUtil#autowireByType} of service types in combined model
+ * of the file set, with caches dropped before every invocation or not.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutowireUtilBenchmark extends InfraFixtureBenchmark {
+
+  /**
+   * Invalidate PSI dependent caches before every invocation, as typing does.
+   */
+  @Param({ "false", "true" })
+  public boolean afterChange;
+
+  private InfraModel model;
+
+  private PsiType[] types;
+
+  @Override
+  protected void setUp() {
+    this.model = InfraCombinedModelFactory.createModel(fileSet, module);
+    this.types = new PsiType[SERVICE_TYPES_COUNT];
+    for (int i = 0; i < SERVICE_TYPES_COUNT; i++) {
+      types[i] = JavaPsiFacade.getElementFactory(project).createType(serviceType(i));
+    }
+    if (AutowireUtil.autowireByType(model, types[0]).isEmpty()) {
+      throw new IllegalStateException("No autowire candidates of " + types[0].getCanonicalText());
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void invalidate() {
+    if (afterChange) {
+      dropPsiCaches();
+    }
+  }
+
+  @Benchmark
+  public Set<BeanPointer<?>> autowireByType() {
+    PsiType type = types[ThreadLocalRandom.current().nextInt(SERVICE_TYPES_COUNT)];
+    return ReadAction.compute(() -> AutowireUtil.autowireByType(model, type));
+  }
+}
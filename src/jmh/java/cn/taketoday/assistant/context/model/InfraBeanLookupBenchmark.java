@@ -0,0 +1,94 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.context.model;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.util.CommonProcessors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cn.taketoday.assistant.InfraFixtureBenchmark;
+import cn.taketoday.assistant.LocalModelFactory;
+import cn.taketoday.assistant.index.InfraXmlBeansIndex;
+import cn.taketoday.assistant.model.BeanPointer;
+import cn.taketoday.assistant.model.ModelSearchParameters;
+import cn.taketoday.assistant.model.utils.search.BeanSearchParameters;
+
+/**
+ * Bean lookups by class in a local XML model and in the XML beans index,
+ * as done repeatedly by highlighting without changes in between.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InfraBeanLookupBenchmark extends InfraFixtureBenchmark {
+
+  private LocalXmlModelImpl localXmlModel;
+
+  private ModelSearchParameters.BeanClass[] searchParameters;
+
+  @Override
+  protected void setUp() {
+    if (!(LocalModelFactory.of().getOrCreateLocalXmlModel(xmlFiles.get(0), module, Collections.emptySet())
+            instanceof LocalXmlModelImpl model)) {
+      throw new IllegalStateException("No local model of " + xmlFiles.get(0));
+    }
+    this.localXmlModel = model;
+    this.searchParameters = new ModelSearchParameters.BeanClass[SERVICE_TYPES_COUNT];
+    for (int i = 0; i < SERVICE_TYPES_COUNT; i++) {
+      searchParameters[i] = ModelSearchParameters.byClass(serviceType(i)).withInheritors();
+    }
+  }
+
+  @Benchmark
+  public Collection<BeanPointer<?>> localXmlModelProcessByClass() {
+    ModelSearchParameters.BeanClass params = nextParameters();
+    return ReadAction.compute(() -> {
+      var processor = new CommonProcessors.CollectProcessor<BeanPointer<?>>();
+      localXmlModel.processByClass(params, processor);
+      return processor.getResults();
+    });
+  }
+
+  @Benchmark
+  public Collection<BeanPointer<?>> xmlBeansIndexProcessBeansByClass() {
+    ModelSearchParameters.BeanClass params = nextParameters();
+    return ReadAction.compute(() -> {
+      var processor = new CommonProcessors.CollectProcessor<BeanPointer<?>>();
+      InfraXmlBeansIndex.processBeansByClass(BeanSearchParameters.byClass(project, params), processor);
+      return processor.getResults();
+    });
+  }
+
+  private ModelSearchParameters.BeanClass nextParameters() {
+    return searchParameters[ThreadLocalRandom.current().nextInt(SERVICE_TYPES_COUNT)];
+  }
+}
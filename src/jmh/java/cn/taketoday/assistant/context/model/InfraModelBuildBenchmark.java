@@ -0,0 +1,67 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.context.model;
+
+import com.intellij.openapi.application.ReadAction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import cn.taketoday.assistant.InfraFixtureBenchmark;
+import cn.taketoday.assistant.impl.InfraCombinedModelFactory;
+import cn.taketoday.assistant.model.BeanPointer;
+
+/**
+ * Creation of {@link CombinedInfraModelImpl} of file set with XML and code
+ * configurations and collecting all its beans, after any PSI change.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InfraModelBuildBenchmark extends InfraFixtureBenchmark {
+
+  @Override
+  protected void setUp() {
+    InfraModel model = InfraCombinedModelFactory.createModel(fileSet, module);
+    if (!(model instanceof CombinedInfraModelImpl)) {
+      throw new IllegalStateException("Synthetic file set is not combined model: " + model);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void invalidate() {
+    dropPsiCaches();
+  }
+
+  @Benchmark
+  public Collection<BeanPointer<?>> buildCombinedModel() {
+    return ReadAction.compute(() -> InfraCombinedModelFactory.createModel(fileSet, module).getAllCommonBeans());
+  }
+}
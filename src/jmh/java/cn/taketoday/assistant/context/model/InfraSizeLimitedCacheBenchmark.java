@@ -0,0 +1,88 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.context.model;
+
+import com.intellij.openapi.util.Conditions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of caches behind caching model processors, as in concurrent
+ * highlighting passes searching beans by class and by name.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InfraSizeLimitedCacheBenchmark {
+
+  @Param({ "100", "1000" })
+  public int cacheSize;
+
+  /**
+   * Number of distinct keys looked up, more keys than cache size causes evictions.
+   */
+  @Param({ "50", "2000" })
+  public int keysCount;
+
+  private String[] keys;
+
+  private InfraSizeLimitedCache<String, Object> cache;
+
+  @Setup
+  public void setUp() {
+    this.keys = new String[keysCount];
+    for (int i = 0; i < keysCount; i++) {
+      keys[i] = "com.example.Bean" + i;
+    }
+    this.cache = new InfraSizeLimitedCache<>(cacheSize, Conditions.alwaysTrue()) {
+      @Override
+      protected Object createValue(String key) {
+        return key.length();
+      }
+    };
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object lookup() {
+    return cache.get(keys[ThreadLocalRandom.current().nextInt(keysCount)]);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object concurrentLookup() {
+    return cache.get(keys[ThreadLocalRandom.current().nextInt(keysCount)]);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.index;
+
+import com.intellij.testFramework.TestApplicationManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cn.taketoday.assistant.factories.FactoryBeansManager;
+import cn.taketoday.assistant.index.InfraIndexUtil.InfraBeanIndexInfo;
+
+/**
+ * Indexing of synthetic beans XML files, every bean has class, alias and
+ * a few properties, every tenth bean is a factory method or a factory bean.
+ * <p>
+ * Indexing checks known factory beans of {@link FactoryBeansManager} service,
+ * so the test application is started in the benchmark fork.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InfraXmlBeansIndexerBenchmark {
+
+  @Param({ "10", "100", "1000" })
+  public int beansCount;
+
+  private String text;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TestApplicationManager.getInstance();
+    StringBuilder builder = new StringBuilder();
+    builder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n")
+            .append("       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+            .append("       xsi:schemaLocation=\"http://www.springframework.org/schema/beans ")
+            .append("http://www.springframework.org/schema/beans/spring-beans.xsd\">\n");
+    for (int i = 0; i < beansCount; i++) {
+      builder.append("  <!-- bean ").append(i).append(" -->\n");
+      if (i % 20 == 9) {
+        builder.append("  <bean id=\"factory").append(i).append("\" class=\"com.example.Factory").append(i)
+                .append("\" factory-method=\"create\"/>\n");
+        continue;
+      }
+      if (i % 20 == 19) {
+        builder.append("  <bean id=\"factory").append(i).append("\" class=\"com.example.Bean").append(i)
+                .append(FactoryBeansManager.FACTORY_BEAN_SUFFIX).append("\"/>\n");
+        continue;
+      }
+      builder.append("  <bean id=\"bean").append(i).append("\" name=\"alias").append(i)
+              .append("\" class=\"com.example.Bean").append(i).append("\">\n");
+      for (int j = 0; j < 3; j++) {
+        builder.append("    <property name=\"property").append(j).append("\" value=\"").append(j).append("\"/>\n");
+      }
+      builder.append("  </bean>\n");
+    }
+    builder.append("</beans>\n");
+    this.text = builder.toString();
+
+    // indexer returns null on any failure, make sure the indexing path is measured
+    List<InfraBeanIndexInfo> infos = streamingIndexer();
+    if (infos == null || infos.size() != beansCount) {
+      throw new IllegalStateException("Synthetic file is not indexed by streaming indexer: " + infos);
+    }
+  }
+
+  @Benchmark
+  public List<InfraBeanIndexInfo> streamingIndexer() {
+    return InfraXmlBeansStreamingIndexer.getAllBeanInfos(text);
+  }
+}
@@ -89,7 +89,7 @@ public class InfraManager implements Disposable {
 
   private static Collection<Object> addModuleModelsDependencies(Module module, Collection<Object> dependencies) {
 
-    ContainerUtil.addAll(dependencies, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies());
+    ContainerUtil.addAll(dependencies, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
     InfraFacet facet = InfraFacet.from(module);
     if (facet != null) {
       dependencies.add(facet.getConfiguration());
@@ -22,6 +22,7 @@ package cn.taketoday.assistant;
 
 import com.intellij.facet.FacetFinder;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
@@ -36,6 +37,7 @@ import cn.taketoday.assistant.facet.InfraFacet;
 import cn.taketoday.assistant.impl.InfraEndpointsModificationTracker;
 import cn.taketoday.assistant.impl.InfraKtOutOfCodeBlockModificationTracker;
 import cn.taketoday.assistant.impl.InfraOuterModelsModificationTracker;
+import cn.taketoday.assistant.impl.InfraOuterModelsModificationTracker.ConfigKind;
 import cn.taketoday.lang.Nullable;
 
 /**
@@ -48,7 +50,7 @@ public class InfraModificationTrackersManager implements Disposable {
   private final SimpleModificationTracker myProfilesModificationTracker;
   private final SimpleModificationTracker myMultipleContextsModificationTracker;
   private final SimpleModificationTracker myCustomBeanParserModificationTracker;
-  private final ModificationTracker myOuterModelsModificationTracker;
+  private final InfraOuterModelsModificationTracker myOuterModelsModificationTracker;
   @Nullable
   private final InfraKtOutOfCodeBlockModificationTracker myKtModificationTracker;
   private final InfraEndpointsModificationTracker myEndpointsModificationTracker;
@@ -86,6 +88,20 @@ public class InfraModificationTrackersManager implements Disposable {
     return this.myOuterModelsModificationTracker;
   }
 
+  /**
+   * @return tracker of outer models changes in given module and modules it depends on
+   */
+  public ModificationTracker getOuterModelsModificationTracker(Module module) {
+    return this.myOuterModelsModificationTracker.getModuleTracker(module);
+  }
+
+  /**
+   * @return tracker of outer models changes of given kind only, in any module
+   */
+  public ModificationTracker getOuterModelsModificationTracker(ConfigKind kind) {
+    return this.myOuterModelsModificationTracker.getKindTracker(kind);
+  }
+
   public ModificationTracker getCustomBeanParserModificationTracker() {
     return this.myCustomBeanParserModificationTracker;
   }
@@ -107,8 +123,20 @@ public class InfraModificationTrackersManager implements Disposable {
   }
 
   public Object[] getOuterModelsDependencies() {
+    return getOuterModelsDependencies(this.myOuterModelsModificationTracker);
+  }
+
+  /**
+   * Same as {@link #getOuterModelsDependencies()}, but changes in modules which given module
+   * doesn't depend on are ignored.
+   */
+  public Object[] getOuterModelsDependencies(Module module) {
+    return getOuterModelsDependencies(this.myOuterModelsModificationTracker.getModuleTracker(module));
+  }
+
+  private Object[] getOuterModelsDependencies(ModificationTracker outerModelsTracker) {
     var dependencies = new ArrayList<>();
-    dependencies.add(this.myOuterModelsModificationTracker);
+    dependencies.add(outerModelsTracker);
     if (this.myKtModificationTracker != null) {
       dependencies.add(this.myKtModificationTracker);
     }
@@ -110,9 +110,8 @@ public class InfraConfigurationPropertyReferenceSearcher extends QueryExecutorBa
   private static List<MetaConfigKey> findMetaConfigKeysInModule(Module module, String prefix, PsiMethod psiMethod) {
     SmartList<MetaConfigKey> smartList = new SmartList<>();
     boolean constructorBinding = psiMethod.isConstructor();
-    for (MetaConfigKey key : InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(module)) {
-      if (key.getDeclarationResolveResult() == MetaConfigKey.DeclarationResolveResult.PROPERTY
-              && StringUtil.startsWith(key.getName(), prefix)) {
+    for (MetaConfigKey key : InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module).findKeysWithPrefix(prefix)) {
+      if (key.getDeclarationResolveResult() == MetaConfigKey.DeclarationResolveResult.PROPERTY) {
         PsiElement declaration = key.getDeclaration().getNavigationElement();
         if (declaration instanceof PsiMethod) {
           if (!constructorBinding && psiMethod.getManager().areElementsEquivalent(declaration, psiMethod)) {
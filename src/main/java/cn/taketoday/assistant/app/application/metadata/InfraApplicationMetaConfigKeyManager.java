@@ -21,6 +21,7 @@ package cn.taketoday.assistant.app.application.metadata;
 
 import com.intellij.microservices.jvm.config.MetaConfigKeyManager;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.util.Key;
 
 public abstract class InfraApplicationMetaConfigKeyManager extends MetaConfigKeyManager {
@@ -33,4 +34,9 @@ public abstract class InfraApplicationMetaConfigKeyManager extends MetaConfigKey
     return ApplicationManager.getApplication().getService(InfraApplicationMetaConfigKeyManager.class);
   }
 
+  /**
+   * Returns name-indexed view of {@link #getAllMetaConfigKeys(Module)}, prefer it over scanning all keys.
+   */
+  public abstract InfraMetaConfigKeyRegistry getMetaConfigKeyRegistry(Module module);
+
 }
@@ -29,7 +29,9 @@ import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
@@ -43,9 +45,11 @@ import com.intellij.util.containers.ContainerUtil;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import cn.taketoday.assistant.InfraLibraryUtil;
 import cn.taketoday.assistant.app.InfraConfigFileConstants;
@@ -57,26 +61,79 @@ public class InfraApplicationMetaConfigKeyManagerImpl extends InfraApplicationMe
   private static final ConfigKeyNameBinder ourRelaxedConfigKeyNameBinder = new RelaxedNamesConfigKeyNameBinder();
   private static final ConfigKeyNameBinder ourBinderConfigKeyNameBinder = new BinderConfigKeyNameBinder();
 
+  private static final Key<InfraMetaConfigKeyRegistry> REGISTRY_KEY = Key.create("InfraMetaConfigKeyRegistry");
+
   public List<MetaConfigKey> getAllMetaConfigKeys(@Nullable Module module) {
-    List<MetaConfigKey> fromLibraries = CachedValuesManager.getManager(module.getProject()).getCachedValue(module, () -> {
+    List<MetaConfigKey> fromLibraries = getLibraryMetaConfigKeys(module);
+    List<MetaConfigKey> localKeys = getLocalMetaConfigKeys(module);
+    return ContainerUtil.concat(fromLibraries, localKeys);
+  }
+
+  public InfraMetaConfigKeyRegistry getMetaConfigKeyRegistry(Module module) {
+    List<MetaConfigKey> fromLibraries = getLibraryMetaConfigKeys(module);
+    List<MetaConfigKey> localKeys = getLocalMetaConfigKeys(module);
+    InfraMetaConfigKeyRegistry registry = module.getUserData(REGISTRY_KEY);
+    if (registry == null || !registry.isBuiltFrom(fromLibraries, localKeys)) {
+      registry = new InfraMetaConfigKeyRegistry(fromLibraries, localKeys);
+      module.putUserData(REGISTRY_KEY, registry);
+    }
+    return registry;
+  }
+
+  @Nullable
+  @Override
+  public MetaConfigKey findCanonicalApplicationMetaConfigKey(Module module, String configKey) {
+    return getMetaConfigKeyRegistry(module).findKey(configKey);
+  }
+
+  @Nullable
+  @Override
+  public MetaConfigKey findApplicationMetaConfigKey(Module module, String configKey) {
+    ConfigKeyNameBinder binder = getConfigKeyNameBinder(module);
+    return ContainerUtil.find(getMetaConfigKeyRegistry(module).findBindingCandidates(configKey), key -> binder.bindsTo(key, configKey));
+  }
+
+  private static List<MetaConfigKey> getLibraryMetaConfigKeys(Module module) {
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, () -> {
       List<PsiFile> metaInfConfigFiles = InfraUtils.findConfigFilesInMetaInf(module, true, InfraConfigFileConstants.CONFIGURATION_METADATA_JSON, PsiFile.class);
+      InfraLibraryMetadataCache libraryCache = InfraLibraryMetadataCache.of(module);
+      Set<String> libraryMetadataPaths = new HashSet<>();
+      boolean hasNonLibraryFiles = false;
+
       List<MetaConfigKey> allKeys = new ArrayList<>();
       for (PsiFile configMetadataFile : metaInfConfigFiles) {
-        List<MetaConfigKey> keys = getConfigKeysForFile(module, configMetadataFile);
-        allKeys.addAll(keys);
+        VirtualFile jar = InfraLibraryMetadataCache.getContainingJar(configMetadataFile);
+        if (jar == null) {
+          hasNonLibraryFiles = true;
+          allKeys.addAll(getConfigKeysForFile(module, configMetadataFile));
+        }
+        else {
+          libraryMetadataPaths.add(configMetadataFile.getVirtualFile().getPath());
+          allKeys.addAll(libraryCache.getKeys(jar, configMetadataFile,
+                  () -> new InfraConfigurationMetadataParser(configMetadataFile).readRootObject(),
+                  rootObject -> getConfigKeys(configMetadataFile,
+                          processor -> new InfraConfigurationMetadataParser(configMetadataFile).processKeys(module, rootObject, processor))));
+        }
       }
-      return CachedValueProvider.Result.create(allKeys, PsiModificationTracker.MODIFICATION_COUNT);
+      libraryCache.retain(libraryMetadataPaths);
+
+      // library keys only change with library roots, metadata outside of jars may reference project sources
+      Object dependency = hasNonLibraryFiles || ApplicationManager.getApplication().isUnitTestMode()
+                          ? PsiModificationTracker.MODIFICATION_COUNT
+                          : ProjectRootManager.getInstance(module.getProject());
+      return CachedValueProvider.Result.create(allKeys, dependency);
     });
-    List<MetaConfigKey> localKeys = getLocalMetaConfigKeys(module);
-    return ContainerUtil.concat(fromLibraries, localKeys);
   }
 
   private static List<MetaConfigKey> getConfigKeysForFile(Module module, PsiFile jsonFile) {
+    return getConfigKeys(jsonFile, processor -> new InfraConfigurationMetadataParser(jsonFile).processKeys(module, processor));
+  }
+
+  private static List<MetaConfigKey> getConfigKeys(PsiFile jsonFile, Predicate<Processor<MetaConfigKey>> keysProcessor) {
     List<MetaConfigKey> keys = new ArrayList<>();
     Processor<MetaConfigKey> collect = Processors.cancelableCollectProcessor(keys);
     try {
-      InfraConfigurationMetadataParser parser = new InfraConfigurationMetadataParser(jsonFile);
-      parser.processKeys(module, collect);
+      keysProcessor.test(collect);
     }
     catch (ProcessCanceledException | IndexNotReadyException e) {
       throw e;
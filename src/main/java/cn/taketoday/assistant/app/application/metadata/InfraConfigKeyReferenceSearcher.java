@@ -119,7 +119,7 @@ public class InfraConfigKeyReferenceSearcher extends QueryExecutorBase<PsiRefere
     }
     for (Module module : getRelevantModules(project, null)) {
       if (InfraUtils.hasFacet(module) && InfraLibraryUtil.hasFrameworkLibrary(module)) {
-        MetaConfigKey configKey = findMetaConfigKeyInModule(keyName, null);
+        MetaConfigKey configKey = findMetaConfigKeyInModule(keyName, module);
         ContainerUtil.addIfNotNull(smartList, configKey);
       }
     }
@@ -128,12 +128,7 @@ public class InfraConfigKeyReferenceSearcher extends QueryExecutorBase<PsiRefere
 
   @Nullable
   private static MetaConfigKey findMetaConfigKeyInModule(String keyName, Module module) {
-    for (MetaConfigKey key : InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(module)) {
-      if (keyName.equals(key.getName())) {
-        return key;
-      }
-    }
-    return null;
+    return InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module).findKey(keyName);
   }
 
   private static boolean processAdditionalConfigFiles(Module module, SearchScope scope, MetaConfigKey key, Processor<? super PsiReference> consumer) {
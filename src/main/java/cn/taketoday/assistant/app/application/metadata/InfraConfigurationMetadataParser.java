@@ -207,69 +207,94 @@ final class InfraConfigurationMetadataParser {
   }
 
   boolean processKeys(Module module, Processor<MetaConfigKey> processor) {
-    MetaConfigKey.ItemHint valueHint;
-    MetaConfigKey.ItemHint keyHint;
+    JsonObject rootObject = readRootObject();
+    return rootObject == null || processKeys(module, rootObject, processor);
+  }
+
+  /**
+   * @return root object of metadata JSON, {@code null} if it can't be read or is not an object
+   */
+  @Nullable
+  JsonObject readRootObject() {
     Ref<String> path = Ref.create();
-    try {
-      JsonReader reader = openReader(path);
+    try (JsonReader reader = openReader(path)) {
       reader.setLenient(true);
       JsonElement parse = JsonParser.parseReader(reader);
-      if (parse.isJsonObject()) {
-        JsonObject rootObject = parse.getAsJsonObject();
-        reader.close();
-        JsonElement propertiesElement = rootObject.get(InfraMetadataConstant.PROPERTIES);
-        if (propertiesElement == null) {
-          return true;
-        }
-        com.google.gson.JsonArray properties = propertiesElement.getAsJsonArray();
-        Map<String, MetaConfigKey.ItemHint> hints = getItemHints(rootObject);
-        ConfigKeyPathBeanPropertyResolver resolver = new InfraConfigKetPathBeanPropertyResolver(module);
-
-        for (JsonElement element : properties) {
-          JsonObject property = element.getAsJsonObject();
-          String configKeyName = getStringLiteral(property, InfraMetadataConstant.NAME);
-          if (!StringUtil.isEmptyOrSpaces(configKeyName)) {
-            String typeLiteral = getStringLiteral(property, InfraMetadataConstant.TYPE);
-            String finalType = Comparing.strEqual(typeLiteral, "java.util.Properties") ? "java.util.Map<java.lang.String,java.lang.String>" : typeLiteral;
-            Pair<PsiType, MetaConfigKey.AccessType> typeWithAccess = getPsiTypeToAccessType(module.getProject(), finalType);
-            PsiType type = typeWithAccess.getFirst().equals(DUMMY_TYPE.getFirst()) ? null : typeWithAccess.getFirst();
-            MetaConfigKey.AccessType accessType = typeWithAccess.getSecond();
-            if (accessType == MetaConfigKey.AccessType.MAP) {
-              valueHint = hints.get(configKeyName + ".values");
-              keyHint = hints.get(configKeyName + ".keys");
-            }
-            else {
-              valueHint = hints.get(configKeyName);
-              keyHint = MetaConfigKey.ItemHint.NONE;
-            }
-            Pair<MetaConfigKey.DeclarationResolveResult, PsiElement> declarationPair = getDeclaration(property, configKeyName, type, module);
-            if (declarationPair != null && declarationPair.second != null) {
-              declarationPair.second.putUserData(ConfigKeyDocumentationProviderBase.CONFIG_KEY_DECLARATION_MODULE, module);
-              MetaConfigKey key = new InfraApplicationMetaConfigKeyImpl(declarationPair.second, declarationPair.first, configKeyName,
-                      getDescription(property), getValueAsString(property, InfraMetadataConstant.DEFAULT_VALUE), getDeprecation(property), type,
-                      accessType, ObjectUtils.notNull(valueHint, MetaConfigKey.ItemHint.NONE),
-                      ObjectUtils.notNull(keyHint, MetaConfigKey.ItemHint.NONE), resolver);
-              if (!processor.process(key)) {
-                return false;
-              }
+      return parse.isJsonObject() ? parse.getAsJsonObject() : null;
+    }
+    catch (ProcessCanceledException e) {
+      throw e;
+    }
+    catch (Throwable e2) {
+      LOG.info("Error parsing Infra metadata JSON from " + path.get(), e2);
+      return null;
+    }
+  }
+
+  /**
+   * Resolves keys of already parsed metadata JSON, given root object is only read.
+   */
+  boolean processKeys(Module module, JsonObject rootObject, Processor<MetaConfigKey> processor) {
+    MetaConfigKey.ItemHint valueHint;
+    MetaConfigKey.ItemHint keyHint;
+    try {
+      JsonElement propertiesElement = rootObject.get(InfraMetadataConstant.PROPERTIES);
+      if (propertiesElement == null) {
+        return true;
+      }
+      com.google.gson.JsonArray properties = propertiesElement.getAsJsonArray();
+      Map<String, MetaConfigKey.ItemHint> hints = getItemHints(rootObject);
+      ConfigKeyPathBeanPropertyResolver resolver = new InfraConfigKetPathBeanPropertyResolver(module);
+
+      for (JsonElement element : properties) {
+        JsonObject property = element.getAsJsonObject();
+        String configKeyName = getStringLiteral(property, InfraMetadataConstant.NAME);
+        if (!StringUtil.isEmptyOrSpaces(configKeyName)) {
+          String typeLiteral = getStringLiteral(property, InfraMetadataConstant.TYPE);
+          String finalType = Comparing.strEqual(typeLiteral, "java.util.Properties") ? "java.util.Map<java.lang.String,java.lang.String>" : typeLiteral;
+          Pair<PsiType, MetaConfigKey.AccessType> typeWithAccess = getPsiTypeToAccessType(module.getProject(), finalType);
+          PsiType type = typeWithAccess.getFirst().equals(DUMMY_TYPE.getFirst()) ? null : typeWithAccess.getFirst();
+          MetaConfigKey.AccessType accessType = typeWithAccess.getSecond();
+          if (accessType == MetaConfigKey.AccessType.MAP) {
+            valueHint = hints.get(configKeyName + ".values");
+            keyHint = hints.get(configKeyName + ".keys");
+          }
+          else {
+            valueHint = hints.get(configKeyName);
+            keyHint = MetaConfigKey.ItemHint.NONE;
+          }
+          Pair<MetaConfigKey.DeclarationResolveResult, PsiElement> declarationPair = getDeclaration(property, configKeyName, type, module);
+          if (declarationPair != null && declarationPair.second != null) {
+            declarationPair.second.putUserData(ConfigKeyDocumentationProviderBase.CONFIG_KEY_DECLARATION_MODULE, module);
+            MetaConfigKey key = new InfraApplicationMetaConfigKeyImpl(declarationPair.second, declarationPair.first, configKeyName,
+                    getDescription(property), getValueAsString(property, InfraMetadataConstant.DEFAULT_VALUE), getDeprecation(property), type,
+                    accessType, ObjectUtils.notNull(valueHint, MetaConfigKey.ItemHint.NONE),
+                    ObjectUtils.notNull(keyHint, MetaConfigKey.ItemHint.NONE), resolver);
+            if (!processor.process(key)) {
+              return false;
             }
           }
         }
-        return true;
       }
-
-      reader.close();
       return true;
     }
     catch (ProcessCanceledException e) {
       return true;
     }
     catch (Throwable e2) {
-      LOG.info("Error parsing Infra metadata JSON from " + path.get(), e2);
+      LOG.info("Error processing Infra metadata JSON from " + getPath(), e2);
       return true;
     }
   }
 
+  private String getPath() {
+    if (this.jsonPsiFile != null) {
+      return this.jsonPsiFile.getVirtualFile().getPath();
+    }
+    assert this.localJsonFile != null;
+    return this.localJsonFile.getPath();
+  }
+
   private JsonReader openReader(Ref<String> pathRef) throws IOException {
     if (this.jsonPsiFile != null) {
       VirtualFile file = this.jsonPsiFile.getVirtualFile();
@@ -0,0 +1,135 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.app.application.metadata;
+
+import com.google.gson.JsonObject;
+import com.intellij.microservices.jvm.config.MetaConfigKey;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Per-module store of configuration metadata parsed from library jars.
+ * <p>
+ * Parsed JSON is keyed by metadata file path inside the jar and validated against
+ * the timestamp and length of the jar itself only, so neither PSI modifications nor
+ * roots changes parse unchanged jars again. Keys hold PSI of classes resolved in the
+ * module, which may become invalid or resolve differently after roots change, so
+ * keys are resolved again from parsed JSON on any roots change.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class InfraLibraryMetadataCache {
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  public static InfraLibraryMetadataCache of(Module module) {
+    return module.getService(InfraLibraryMetadataCache.class);
+  }
+
+  /**
+   * @return containing jar of given metadata file, {@code null} if file is not located in a jar
+   */
+  @Nullable
+  static VirtualFile getContainingJar(PsiFile metadataFile) {
+    VirtualFile virtualFile = metadataFile.getVirtualFile();
+    if (virtualFile == null || !(virtualFile.getFileSystem() instanceof JarFileSystem)) {
+      return null;
+    }
+    return JarFileSystem.getInstance().getLocalByEntry(virtualFile);
+  }
+
+  /**
+   * @param reader reads root object of metadata file, {@code null} if it can't be read
+   * @param resolver resolves keys of root object in the module
+   */
+  List<MetaConfigKey> getKeys(VirtualFile jar, PsiFile metadataFile,
+          Supplier<JsonObject> reader, Function<JsonObject, List<MetaConfigKey>> resolver) {
+    String path = metadataFile.getVirtualFile().getPath();
+    long timeStamp = jar.getTimeStamp();
+    long length = jar.getLength();
+
+    Entry entry = entries.get(path);
+    if (entry == null || !entry.isUpToDate(timeStamp, length)) {
+      entry = new Entry(timeStamp, length, reader.get());
+      entries.put(path, entry);
+    }
+    return entry.getKeys(ProjectRootManager.getInstance(metadataFile.getProject()).getModificationCount(), resolver);
+  }
+
+  /**
+   * Drops entries of metadata files no longer present on module classpath.
+   */
+  void retain(Collection<String> metadataFilePaths) {
+    entries.keySet().retainAll(metadataFilePaths);
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  private static final class Entry {
+    private final long timeStamp;
+
+    private final long length;
+
+    @Nullable
+    private final JsonObject rootObject;
+
+    @Nullable
+    private volatile ResolvedKeys resolvedKeys;
+
+    Entry(long timeStamp, long length, @Nullable JsonObject rootObject) {
+      this.timeStamp = timeStamp;
+      this.length = length;
+      this.rootObject = rootObject;
+    }
+
+    boolean isUpToDate(long timeStamp, long length) {
+      return this.timeStamp == timeStamp && this.length == length;
+    }
+
+    List<MetaConfigKey> getKeys(long rootsModificationCount, Function<JsonObject, List<MetaConfigKey>> resolver) {
+      ResolvedKeys resolvedKeys = this.resolvedKeys;
+      if (resolvedKeys == null || resolvedKeys.rootsModificationCount != rootsModificationCount) {
+        List<MetaConfigKey> keys = rootObject == null ? List.of() : List.copyOf(resolver.apply(rootObject));
+        resolvedKeys = new ResolvedKeys(rootsModificationCount, keys);
+        this.resolvedKeys = resolvedKeys;
+      }
+      return resolvedKeys.keys;
+    }
+  }
+
+  private record ResolvedKeys(long rootsModificationCount, List<MetaConfigKey> keys) {
+  }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.app.application.metadata;
+
+import com.intellij.microservices.jvm.config.MetaConfigKey;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.SmartList;
+import com.intellij.util.containers.ContainerUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Name-indexed view of all {@link MetaConfigKey}s available in a module.
+ * <p>
+ * Exact lookups go through a hash map by key name, prefix and {@code Map}-group
+ * lookups walk a trie of relaxed key segments (lower-cased, without {@code -} and {@code _},
+ * {@code [...]} indices and map keys are segments too), so resolving a single key does not scan all keys.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @see InfraApplicationMetaConfigKeyManager#getMetaConfigKeyRegistry(com.intellij.openapi.module.Module)
+ * @since 1.0
+ */
+public final class InfraMetaConfigKeyRegistry {
+
+  public static final InfraMetaConfigKeyRegistry EMPTY = new InfraMetaConfigKeyRegistry(Collections.emptyList(), Collections.emptyList());
+
+  private final List<MetaConfigKey> libraryKeys;
+  private final List<MetaConfigKey> localKeys;
+  private final List<MetaConfigKey> allKeys;
+
+  private final Map<String, List<MetaConfigKey>> keysByName;
+  private final Map<MetaConfigKey, Integer> positions;
+  private final Node root = new Node();
+
+  @Nullable
+  private volatile Map<String, List<MetaConfigKey>> keysByPrefix;
+
+  InfraMetaConfigKeyRegistry(List<MetaConfigKey> libraryKeys, List<MetaConfigKey> localKeys) {
+    this.libraryKeys = libraryKeys;
+    this.localKeys = localKeys;
+    this.allKeys = ContainerUtil.concat(libraryKeys, localKeys);
+    this.keysByName = new HashMap<>(allKeys.size());
+    this.positions = new IdentityHashMap<>(allKeys.size());
+    for (MetaConfigKey key : allKeys) {
+      keysByName.computeIfAbsent(key.getName(), name -> new SmartList<>()).add(key);
+      positions.putIfAbsent(key, positions.size());
+
+      Node node = root;
+      for (String segment : splitRelaxed(key.getName())) {
+        node = node.children.computeIfAbsent(segment, s -> new Node());
+      }
+      node.keys.add(key);
+    }
+  }
+
+  boolean isBuiltFrom(List<MetaConfigKey> libraryKeys, List<MetaConfigKey> localKeys) {
+    return this.libraryKeys == libraryKeys && this.localKeys == localKeys;
+  }
+
+  public List<MetaConfigKey> getAllKeys() {
+    return allKeys;
+  }
+
+  /**
+   * @param name exact key name
+   * @return first key with given name, {@code null} if none
+   */
+  @Nullable
+  public MetaConfigKey findKey(String name) {
+    return ContainerUtil.getFirstItem(findKeys(name));
+  }
+
+  /**
+   * @param name exact key name
+   * @return all keys with given name (keys may be declared by several libraries)
+   */
+  public List<MetaConfigKey> findKeys(String name) {
+    return keysByName.getOrDefault(name, Collections.emptyList());
+  }
+
+  /**
+   * @param prefix exact (case-sensitive) name prefix
+   * @return all keys whose name starts with given prefix
+   */
+  public List<MetaConfigKey> findKeysWithPrefix(String prefix) {
+    if (prefix.isEmpty()) {
+      return allKeys;
+    }
+    return ContainerUtil.filter(findRelaxedPrefixCandidates(prefix), key -> StringUtil.startsWith(key.getName(), prefix));
+  }
+
+  /**
+   * Returns keys whose relaxed name starts with relaxed {@code prefix}. Callers still need to check
+   * the prefix using {@link com.intellij.microservices.jvm.config.MetaConfigKeyManager.ConfigKeyNameBinder#matchesPrefix}.
+   */
+  public List<MetaConfigKey> findRelaxedPrefixCandidates(String prefix) {
+    if (prefix.isEmpty()) {
+      return allKeys;
+    }
+    List<String> segments = splitRelaxed(prefix);
+    Node node = root;
+    for (int i = 0; i < segments.size() - 1; i++) {
+      node = node.children.get(segments.get(i));
+      if (node == null) {
+        return Collections.emptyList();
+      }
+    }
+
+    String lastSegment = segments.get(segments.size() - 1);
+    List<MetaConfigKey> candidates = new ArrayList<>();
+    for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+      if (entry.getKey().startsWith(lastSegment)) {
+        entry.getValue().collect(candidates);
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns {@code Map} group keys that may bind given key text, i.e. keys whose relaxed
+   * name is a segment prefix of {@code keyText}. Callers still need to check binding
+   * using {@link com.intellij.microservices.jvm.config.MetaConfigKeyManager.ConfigKeyNameBinder}.
+   */
+  public List<MetaConfigKey> findMapGroupCandidates(String keyText) {
+    return ContainerUtil.filter(findBindingCandidates(keyText), key -> key.isAccessType(MetaConfigKey.AccessType.MAP_GROUP));
+  }
+
+  /**
+   * Returns keys of any access type that may bind given key text ({@code Map} groups, indexed and
+   * plain keys), i.e. keys whose relaxed name is a segment prefix of {@code keyText},
+   * in the order of {@link #getAllKeys()}. Callers still need to check binding
+   * using {@link com.intellij.microservices.jvm.config.MetaConfigKeyManager.ConfigKeyNameBinder}.
+   */
+  public List<MetaConfigKey> findBindingCandidates(String keyText) {
+    List<MetaConfigKey> candidates = new SmartList<>();
+    Node node = root;
+    for (String segment : splitRelaxed(keyText)) {
+      node = node.children.get(segment);
+      if (node == null) {
+        break;
+      }
+      candidates.addAll(node.keys);
+    }
+    if (candidates.size() > 1) {
+      candidates.sort(Comparator.comparingInt(positions::get));
+    }
+    return candidates;
+  }
+
+  /**
+   * @return keys by the part of their name before the last {@code .}, keys without {@code .} are not included
+   */
+  public Map<String, List<MetaConfigKey>> getKeysByPrefix() {
+    Map<String, List<MetaConfigKey>> result = keysByPrefix;
+    if (result == null) {
+      result = new LinkedHashMap<>();
+      for (MetaConfigKey key : allKeys) {
+        int lastDot = key.getName().lastIndexOf('.');
+        if (lastDot != -1) {
+          result.computeIfAbsent(key.getName().substring(0, lastDot), prefix -> new SmartList<>()).add(key);
+        }
+      }
+      result = Collections.unmodifiableMap(result);
+      keysByPrefix = result;
+    }
+    return result;
+  }
+
+  /**
+   * Splits on {@code .} and {@code [...]}, so {@code foo.map[bar.baz].qux} becomes
+   * {@code foo}, {@code map}, {@code bar.baz}, {@code qux}.
+   */
+  private static List<String> splitRelaxed(String name) {
+    List<String> segments = new ArrayList<>();
+    StringBuilder segment = new StringBuilder();
+    boolean inBrackets = false;
+    boolean afterBrackets = false;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (inBrackets) {
+        if (c == ']') {
+          // map key or index is taken as is
+          segments.add(segment.toString());
+          segment.setLength(0);
+          inBrackets = false;
+          afterBrackets = true;
+          continue;
+        }
+        segment.append(Character.toLowerCase(c));
+      }
+      else if (c == '[' || c == '.') {
+        if (!afterBrackets) {
+          segments.add(segment.toString());
+          segment.setLength(0);
+        }
+        inBrackets = c == '[';
+      }
+      else if (c != '-' && c != '_') {
+        segment.append(Character.toLowerCase(c));
+      }
+      afterBrackets = false;
+    }
+    if (!afterBrackets) {
+      segments.add(segment.toString());
+    }
+    return segments;
+  }
+
+  private static final class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private final List<MetaConfigKey> keys = new SmartList<>();
+
+    void collect(List<MetaConfigKey> result) {
+      result.addAll(keys);
+      for (Node child : children.values()) {
+        child.collect(result);
+      }
+    }
+  }
+
+}
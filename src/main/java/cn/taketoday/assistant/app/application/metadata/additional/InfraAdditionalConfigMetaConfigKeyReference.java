@@ -34,10 +34,12 @@ import com.intellij.microservices.jvm.config.MetaConfigKeyReference;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.ElementManipulators;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.util.ObjectUtils;
+import com.intellij.util.SmartList;
 import com.intellij.util.containers.ContainerUtil;
 
 import java.util.ArrayList;
@@ -48,6 +50,7 @@ import java.util.Set;
 
 import cn.taketoday.assistant.InfraAppBundle;
 import cn.taketoday.assistant.app.application.metadata.InfraApplicationMetaConfigKeyManager;
+import cn.taketoday.assistant.app.application.metadata.InfraMetaConfigKeyRegistry;
 import cn.taketoday.assistant.app.application.metadata.InfraMetadataConstant;
 
 class InfraAdditionalConfigMetaConfigKeyReference extends MetaConfigKeyReference<PsiElement> implements EmptyResolveMessageProvider {
@@ -84,19 +87,33 @@ class InfraAdditionalConfigMetaConfigKeyReference extends MetaConfigKeyReference
       List<MetaConfigKey> emptyList = Collections.emptyList();
       return emptyList;
     }
-    List<? extends MetaConfigKey> allKeys = InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(module);
-    MetaConfigKeyManager.ConfigKeyNameBinder binder = InfraApplicationMetaConfigKeyManager.of().getConfigKeyNameBinder(module);
-    List<MetaConfigKey> filter = ContainerUtil.filter(allKeys, configKey -> {
-      String keyName = configKey.getName();
-      if (configKey.isAccessType(MetaConfigKey.AccessType.MAP_GROUP)) {
-        if (this.myMode != Mode.HINTS) {
-          return binder.bindsTo(configKey, keyText);
+    InfraMetaConfigKeyRegistry registry = InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module);
+    List<MetaConfigKey> result = new SmartList<>();
+    for (MetaConfigKey configKey : registry.findKeys(keyText)) {
+      if (!configKey.isAccessType(MetaConfigKey.AccessType.MAP_GROUP)) {
+        result.add(configKey);
+      }
+    }
+
+    if (this.myMode != Mode.HINTS) {
+      MetaConfigKeyManager.ConfigKeyNameBinder binder = InfraApplicationMetaConfigKeyManager.of().getConfigKeyNameBinder(module);
+      for (MetaConfigKey configKey : registry.findMapGroupCandidates(keyText)) {
+        if (binder.bindsTo(configKey, keyText)) {
+          result.add(configKey);
         }
-        return keyText.equals(keyName + ".keys") || keyText.equals(keyName + ".values");
       }
-      return keyText.equals(keyName);
-    });
-    return filter;
+    }
+    else {
+      String mapKeyName = keyText.endsWith(".keys") ? StringUtil.trimEnd(keyText, ".keys") : StringUtil.trimEnd(keyText, ".values");
+      if (!mapKeyName.equals(keyText)) {
+        for (MetaConfigKey configKey : registry.findKeys(mapKeyName)) {
+          if (configKey.isAccessType(MetaConfigKey.AccessType.MAP_GROUP)) {
+            result.add(configKey);
+          }
+        }
+      }
+    }
+    return result;
   }
 
   public String getReferenceDisplayText() {
@@ -31,6 +31,7 @@ import com.intellij.lang.properties.psi.codeStyle.PropertiesCodeStyleSettings;
 import com.intellij.lang.properties.psi.impl.PropertyImpl;
 import com.intellij.microservices.jvm.config.ConfigKeyParts;
 import com.intellij.microservices.jvm.config.MetaConfigKey;
+import com.intellij.microservices.jvm.config.MetaConfigKeyManager;
 import com.intellij.microservices.jvm.config.MetaConfigKeyReference;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.module.Module;
@@ -44,6 +45,7 @@ import com.intellij.util.ProcessingContext;
 import com.intellij.util.containers.ContainerUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -94,6 +96,16 @@ class InfraApplicationPropertiesKeyReferenceProvider extends PsiReferenceProvide
       return this.myProperty.getText();
     }
 
+    protected List<MetaConfigKey> getAllKeys(String keyText) {
+      Module module = ModuleUtilCore.findModuleForPsiElement(getElement());
+      if (module == null) {
+        return Collections.emptyList();
+      }
+      MetaConfigKeyManager.ConfigKeyNameBinder binder = InfraApplicationMetaConfigKeyManager.of().getConfigKeyNameBinder(module);
+      List<MetaConfigKey> candidates = InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module).findBindingCandidates(keyText);
+      return ContainerUtil.filter(candidates, configKey -> binder.bindsTo(configKey, keyText));
+    }
+
     public Object[] getVariants() {
       Set<String> existingKeys = ContainerUtil.map2Set(getExistingProperties(), IProperty::getKey);
       char delimiterChar = PropertiesCodeStyleSettings.getInstance(this.myElement.getProject()).getDelimiter();
@@ -104,7 +116,12 @@ class InfraApplicationPropertiesKeyReferenceProvider extends PsiReferenceProvide
           return offset;
         }
       };
-      List<? extends MetaConfigKey> configKeys = InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(getElement());
+      Module module = ModuleUtilCore.findModuleForPsiElement(getElement());
+      if (module == null) {
+        return LookupElement.EMPTY_ARRAY;
+      }
+      // completion needs every key not yet defined in the file
+      List<MetaConfigKey> configKeys = InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module).getAllKeys();
       List<LookupElement> result = new ArrayList<>(configKeys.size());
       for (MetaConfigKey configKey : configKeys) {
         String name = configKey.getName();
@@ -58,7 +58,7 @@ public class InfraDispatcherServletWebModelContributor extends WebModelContribut
 
   private static List<PsiBasedServlet> getInfraBootDispatcherServlets(Module module) {
     return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, () -> {
-      return CachedValueProvider.Result.create(getCommonServlets(module), InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies());
+      return CachedValueProvider.Result.create(getCommonServlets(module), InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
     });
   }
 
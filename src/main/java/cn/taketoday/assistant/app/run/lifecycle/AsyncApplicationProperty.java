@@ -27,16 +27,16 @@ import java.util.Objects;
 abstract class AsyncApplicationProperty<T> extends AsyncProperty<T> {
 
   private final Property<InfraModuleDescriptor> moduleDescriptor;
-  private final Property<String> serviceUrl;
+  private final JmxServiceUrlProperty serviceUrl;
 
   protected AsyncApplicationProperty(
           Property<InfraModuleDescriptor> moduleDescriptor,
-          Property<String> serviceUrl, LifecycleErrorHandler errorHandler, Disposable parent) {
+          JmxServiceUrlProperty serviceUrl, LifecycleErrorHandler errorHandler, Disposable parent) {
     this(moduleDescriptor, serviceUrl, errorHandler, parent, null);
   }
 
   protected AsyncApplicationProperty(
-          Property<InfraModuleDescriptor> moduleDescriptor, Property<String> serviceUrl,
+          Property<InfraModuleDescriptor> moduleDescriptor, JmxServiceUrlProperty serviceUrl,
           LifecycleErrorHandler errorHandler, Disposable parent, T defaultValue) {
     super(errorHandler, parent, defaultValue);
     this.serviceUrl = serviceUrl;
@@ -44,7 +44,11 @@ abstract class AsyncApplicationProperty<T> extends AsyncProperty<T> {
   }
 
   protected InfraApplicationConnector getApplicationConnector() {
-    return new InfraApplicationConnector(this.serviceUrl.getValue(), getModuleDescriptor());
+    return new InfraApplicationConnector(this.serviceUrl.getValue(), getModuleDescriptor(), getConnectionPool());
+  }
+
+  protected InfraJmxConnectionPool getConnectionPool() {
+    return this.serviceUrl.getConnectionPool();
   }
 
   protected String getServiceUrl() {
@@ -47,7 +47,7 @@ class EndpointProperty<T> extends AsyncApplicationProperty<T> {
 
   EndpointProperty(
           Endpoint<T> endpoint, Property<InfraModuleDescriptor> moduleDescriptor,
-          Property<String> serviceUrl, LifecycleErrorHandler errorHandler,
+          JmxServiceUrlProperty serviceUrl, LifecycleErrorHandler errorHandler,
           Disposable parent, Property<? extends LiveBeansModel> liveBeansModel) {
     super(moduleDescriptor, serviceUrl, errorHandler, parent);
     this.endpoint = endpoint;
@@ -117,7 +117,7 @@ class EndpointProperty<T> extends AsyncApplicationProperty<T> {
         }
       }
       String mbeanName = StringUtil.capitalize(endpoint.getId());
-      InfraActuatorConnector actuatorConnector = new InfraActuatorConnector(getServiceUrl(), endpointDomain, mbeanName);
+      InfraActuatorConnector actuatorConnector = new InfraActuatorConnector(getServiceUrl(), endpointDomain, mbeanName, getConnectionPool());
       try {
         try {
           T parseData = endpoint.parseData(actuatorConnector.getData(endpoint.getOperationName()));
@@ -27,28 +27,32 @@ import java.util.Set;
 import javax.management.InstanceNotFoundException;
 import javax.management.ObjectInstance;
 
+import cn.taketoday.lang.Nullable;
+
 class InfraActuatorConnector extends InfraJmxConnector {
   static final String DEFAULT_DOMAIN = "cn.taketoday.app";
   private static final String ENDPOINT_OBJECT_NAME = "%s:type=Endpoint,name=%s,*";
   private static final String CONTEXT_KEY_PROPERTY = "context";
   private static final String DATA_ATTR = "Data";
 
-  InfraActuatorConnector(String serviceUrl, String domain, String beanName) {
-    super(serviceUrl, String.format(ENDPOINT_OBJECT_NAME, domain, beanName));
+  InfraActuatorConnector(String serviceUrl, String domain, String beanName, @Nullable InfraJmxConnectionPool connectionPool) {
+    super(serviceUrl, String.format(ENDPOINT_OBJECT_NAME, domain, beanName), connectionPool);
   }
 
   Object getData(String operationName) throws Exception {
-    Set<ObjectInstance> objectInstances = getJmxConnection().queryMBeans(getObjectName(), null);
-    ObjectInstance objectInstance = objectInstances.stream()
-            .filter(o -> o.getObjectName().getKeyProperty(CONTEXT_KEY_PROPERTY) == null)
-            .findFirst()
-            .orElse(null);
-    if (objectInstance == null) {
-      throw new InstanceNotFoundException(getObjectName().toString());
-    }
-    if (operationName != null) {
-      return getJmxConnection().invoke(objectInstance.getObjectName(), operationName, ArrayUtilRt.EMPTY_STRING_ARRAY, ArrayUtilRt.EMPTY_STRING_ARRAY);
-    }
-    return getJmxConnection().getAttribute(objectInstance.getObjectName(), DATA_ATTR);
+    return call(connection -> {
+      Set<ObjectInstance> objectInstances = connection.queryMBeans(getObjectName(), null);
+      ObjectInstance objectInstance = objectInstances.stream()
+              .filter(o -> o.getObjectName().getKeyProperty(CONTEXT_KEY_PROPERTY) == null)
+              .findFirst()
+              .orElse(null);
+      if (objectInstance == null) {
+        throw new InstanceNotFoundException(getObjectName().toString());
+      }
+      if (operationName != null) {
+        return connection.invoke(objectInstance.getObjectName(), operationName, ArrayUtilRt.EMPTY_STRING_ARRAY, ArrayUtilRt.EMPTY_STRING_ARRAY);
+      }
+      return connection.getAttribute(objectInstance.getObjectName(), DATA_ATTR);
+    });
   }
 }
@@ -24,6 +24,8 @@ import java.util.Set;
 
 import javax.management.InstanceNotFoundException;
 
+import cn.taketoday.lang.Nullable;
+
 class InfraApplicationConnector extends InfraJmxConnector {
   static final String JMX_DEFAULT_DOMAIN_PROPERTY = "infra.jmx.default-domain";
   static final String ENDPOINTS_JMX_EXPOSURE_INCLUDE_PROPERTY_2X = "management.endpoints.jmx.exposure.include";
@@ -43,8 +45,8 @@ class InfraApplicationConnector extends InfraJmxConnector {
   static final ApplicationProperty SERVER_CONTEXT_PATH_PROPERTY = new ApplicationProperty("server.servlet.context-path");
   static final ApplicationProperty SERVER_SERVLET_PATH_PROPERTY = new ApplicationProperty("mvc.servlet.path");
 
-  InfraApplicationConnector(String serviceUrl, InfraModuleDescriptor moduleDescriptor) {
-    super(serviceUrl, moduleDescriptor.getAppAdminJmxName());
+  InfraApplicationConnector(String serviceUrl, InfraModuleDescriptor moduleDescriptor, @Nullable InfraJmxConnectionPool connectionPool) {
+    super(serviceUrl, moduleDescriptor.getAppAdminJmxName(), connectionPool);
     this.myModuleDescriptor = moduleDescriptor;
   }
 
@@ -97,7 +99,7 @@ class InfraApplicationConnector extends InfraJmxConnector {
 
   boolean isReady() throws Exception {
     try {
-      Object value = getJmxConnection().getAttribute(getObjectName(), READY_ATTR);
+      Object value = call(connection -> connection.getAttribute(getObjectName(), READY_ATTR));
       if (!(value instanceof Boolean)) {
         return false;
       }
@@ -109,7 +111,8 @@ class InfraApplicationConnector extends InfraJmxConnector {
   }
 
   private Object doGetProperty(String propertyName) throws Exception {
-    return getJmxConnection().invoke(getObjectName(), GET_PROPERTY_OPERATION, new String[] { propertyName }, new String[] { String.class.getName() });
+    return call(connection -> connection.invoke(getObjectName(), GET_PROPERTY_OPERATION,
+            new String[] { propertyName }, new String[] { String.class.getName() }));
   }
 
   static class ApplicationProperty {
@@ -41,6 +41,7 @@ import java.util.Objects;
 import cn.taketoday.assistant.app.run.InfraRunBundle;
 import cn.taketoday.assistant.app.run.lifecycle.beans.BeansEndpoint;
 import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBeansModel;
+import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBeansModelDiff;
 import cn.taketoday.assistant.app.run.lifecycle.beans.model.impl.LiveBeansSnapshotParser;
 import cn.taketoday.lang.Nullable;
 
@@ -115,13 +116,23 @@ final class InfraApplicationInfoImpl implements InfraApplicationInfo {
     Property<LiveBeansModel> liveBeansModel = new AsyncProperty<>(errorHandler, this) {
       @Override
       public LiveBeansModel doCompute() throws LifecycleException {
+        LiveBeansModel model = computeModel();
+        LiveBeansModel previous = getValue();
+        // keep previous snapshot if nothing changed, so listeners are not notified and UI is not rebuilt
+        if (previous != null && model != null && LiveBeansModelDiff.compute(previous, model).isEmpty()) {
+          return previous;
+        }
+        return model;
+      }
+
+      private LiveBeansModel computeModel() throws LifecycleException {
         var moduleDescriptor = Objects.requireNonNull(InfraApplicationInfoImpl.this.moduleDescriptor.getValue());
         var version = moduleDescriptor.getVersion();
         if (version != null) {
           return beans3Endpoint.doCompute();
         }
 
-        try (var connector = new InfraLiveBeansConnector(serviceUrl.getValue())) {
+        try (var connector = new InfraLiveBeansConnector(serviceUrl.getValue(), serviceUrl.getConnectionPool())) {
           try {
             String snapshot = connector.getSnapshot();
             LiveBeansSnapshotParser parser = new LiveBeansSnapshotParser();
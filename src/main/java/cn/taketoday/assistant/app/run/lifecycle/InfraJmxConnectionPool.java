@@ -0,0 +1,290 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.app.run.lifecycle;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import javax.management.MBeanServerConnection;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.remote.JMXConnectionNotification;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Keeps one JMX connection alive per service URL of a running application, so that
+ * endpoints, ready state and server port checks share it instead of connecting every time.
+ * Remote calls of different properties run concurrently over the shared connection.
+ * <p>
+ * Failed or closed connections are evicted from the pool as soon as they are detected and
+ * reconnected on demand, failed connection attempts are retried with exponential backoff.
+ * Connecting does not block callers of other service URLs or holders of live connections.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class InfraJmxConnectionPool implements Closeable {
+  private static final Logger LOG = Logger.getInstance(InfraJmxConnectionPool.class);
+
+  private static final long MIN_RECONNECT_DELAY = 100;
+  private static final long MAX_RECONNECT_DELAY = 5000;
+
+  private final Map<String, PooledConnection> connections = new HashMap<>();
+  private boolean closed;
+
+  MBeanServerConnection getConnection(String serviceUrl) throws IOException {
+    while (true) {
+      PooledConnection pooled;
+      synchronized(connections) {
+        if (closed) {
+          throw new IOException("JMX connection pool is closed");
+        }
+        pooled = connections.computeIfAbsent(serviceUrl, url -> new PooledConnection(url));
+      }
+      MBeanServerConnection connection = pooled.getConnection();
+      if (connection != null) {
+        return connection;
+      }
+      // evicted meanwhile, continue with its replacement
+    }
+  }
+
+  /**
+   * Drops the connection if it is still the pooled one, e.g. after a remote call failed because of I/O problems.
+   */
+  void invalidate(String serviceUrl, MBeanServerConnection connection) {
+    PooledConnection pooled;
+    synchronized(connections) {
+      pooled = connections.get(serviceUrl);
+    }
+    if (pooled != null) {
+      pooled.invalidate(connection);
+    }
+  }
+
+  @Override
+  public void close() {
+    PooledConnection[] toClose;
+    synchronized(connections) {
+      closed = true;
+      toClose = connections.values().toArray(new PooledConnection[0]);
+      connections.clear();
+    }
+    for (PooledConnection connection : toClose) {
+      connection.close();
+    }
+  }
+
+  /**
+   * Removes given connection from the pool, so that the next request for its service URL starts over.
+   */
+  private void evict(PooledConnection pooled) {
+    synchronized(connections) {
+      connections.remove(pooled.serviceUrl, pooled);
+    }
+  }
+
+  private final class PooledConnection implements NotificationListener {
+    private final String serviceUrl;
+
+    @Nullable
+    private JMXConnector connector;
+    @Nullable
+    private MBeanServerConnection connection;
+
+    /**
+     * Connection attempt in progress, other callers wait for it without holding the monitor.
+     */
+    @Nullable
+    private CompletableFuture<MBeanServerConnection> pending;
+
+    private int failedAttempts;
+    private long nextAttempt;
+    @Nullable
+    private IOException lastError;
+    private boolean disposed;
+
+    PooledConnection(String serviceUrl) {
+      this.serviceUrl = serviceUrl;
+    }
+
+    /**
+     * @return {@code null} if this connection has been evicted or closed
+     */
+    @Nullable
+    MBeanServerConnection getConnection() throws IOException {
+      CompletableFuture<MBeanServerConnection> future;
+      boolean connect = false;
+      synchronized(this) {
+        if (connection != null) {
+          return connection;
+        }
+        if (disposed) {
+          return null;
+        }
+        if (pending == null) {
+          if (lastError != null && System.currentTimeMillis() < nextAttempt) {
+            throw lastError;
+          }
+          pending = new CompletableFuture<>();
+          connect = true;
+        }
+        future = pending;
+      }
+      if (connect) {
+        connect(future);
+      }
+      return await(future);
+    }
+
+    private void connect(CompletableFuture<MBeanServerConnection> future) {
+      JMXConnector newConnector = null;
+      try {
+        newConnector = JMXConnectorFactory.connect(new JMXServiceURL(serviceUrl), null);
+        MBeanServerConnection newConnection = newConnector.getMBeanServerConnection();
+        newConnector.addConnectionNotificationListener(this, null, newConnector);
+        boolean stale;
+        synchronized(this) {
+          this.pending = null;
+          stale = disposed;
+          if (!stale) {
+            this.connector = newConnector;
+            this.connection = newConnection;
+            this.failedAttempts = 0;
+            this.lastError = null;
+          }
+        }
+        if (stale) {
+          closeQuietly(newConnector);
+          future.complete(null);
+        }
+        else {
+          future.complete(newConnection);
+        }
+      }
+      catch (IOException e) {
+        closeQuietly(newConnector);
+        synchronized(this) {
+          long delay = Math.min(MAX_RECONNECT_DELAY, MIN_RECONNECT_DELAY << Math.min(failedAttempts, 16));
+          this.pending = null;
+          this.failedAttempts++;
+          this.nextAttempt = System.currentTimeMillis() + delay;
+          this.lastError = e;
+        }
+        future.completeExceptionally(e);
+      }
+      catch (RuntimeException e) {
+        closeQuietly(newConnector);
+        synchronized(this) {
+          this.pending = null;
+        }
+        future.completeExceptionally(e);
+      }
+    }
+
+    @Nullable
+    private static MBeanServerConnection await(CompletableFuture<MBeanServerConnection> future) throws IOException {
+      try {
+        return future.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while connecting to JMX");
+      }
+      catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException ioException) {
+          throw ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw new IOException(cause);
+      }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+      String type = notification.getType();
+      if (JMXConnectionNotification.FAILED.equals(type) || JMXConnectionNotification.CLOSED.equals(type)) {
+        LOG.debug("JMX connection to " + serviceUrl + " is " + type);
+        JMXConnector failed;
+        synchronized(this) {
+          if (connector != handback) {
+            return;
+          }
+          failed = connector;
+          this.disposed = true;
+          this.connector = null;
+          this.connection = null;
+        }
+        evict(this);
+        closeQuietly(failed);
+      }
+    }
+
+    void invalidate(MBeanServerConnection failed) {
+      JMXConnector toClose;
+      synchronized(this) {
+        if (connection != failed) {
+          return;
+        }
+        toClose = connector;
+        this.disposed = true;
+        this.connector = null;
+        this.connection = null;
+      }
+      evict(this);
+      closeQuietly(toClose);
+    }
+
+    void close() {
+      JMXConnector toClose;
+      synchronized(this) {
+        this.disposed = true;
+        toClose = connector;
+        this.connector = null;
+        this.connection = null;
+      }
+      closeQuietly(toClose);
+    }
+
+    private static void closeQuietly(@Nullable JMXConnector connector) {
+      if (connector != null) {
+        try {
+          connector.close();
+        }
+        catch (IOException ignored) { }
+      }
+    }
+  }
+}
@@ -22,6 +22,8 @@ package cn.taketoday.assistant.app.run.lifecycle;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.rmi.MarshalException;
+import java.rmi.UnmarshalException;
 
 import javax.management.MBeanServerConnection;
 import javax.management.MalformedObjectNameException;
@@ -30,16 +32,25 @@ import javax.management.remote.JMXConnector;
 import javax.management.remote.JMXConnectorFactory;
 import javax.management.remote.JMXServiceURL;
 
+import cn.taketoday.lang.Nullable;
+
 class InfraJmxConnector implements Closeable {
 
   private final String serviceUrl;
   private final ObjectName objectName;
+  @Nullable
+  private final InfraJmxConnectionPool connectionPool;
   private JMXConnector connector;
   private MBeanServerConnection connection;
 
-  InfraJmxConnector(String serviceUrl, String objectName) {
+  /**
+   * @param connectionPool pool to borrow connection from, if present the connection
+   * is shared and not closed by {@link #close()}
+   */
+  InfraJmxConnector(String serviceUrl, String objectName, @Nullable InfraJmxConnectionPool connectionPool) {
     this.serviceUrl = serviceUrl;
     this.objectName = toObjectName(objectName);
+    this.connectionPool = connectionPool;
   }
 
   private JMXConnector getJmxConnector() throws IOException {
@@ -48,20 +59,43 @@ class InfraJmxConnector implements Closeable {
 
   protected MBeanServerConnection getJmxConnection() throws IOException {
     if (this.connection == null) {
-      if (this.connector == null) {
+      if (this.connectionPool != null) {
+        this.connection = this.connectionPool.getConnection(this.serviceUrl);
+      }
+      else if (this.connector == null) {
         this.connector = getJmxConnector();
       }
-      this.connection = this.connector.getMBeanServerConnection();
+      if (this.connection == null) {
+        this.connection = this.connector.getMBeanServerConnection();
+      }
     }
     return this.connection;
   }
 
+  /**
+   * Performs remote call, pooled connection is dropped if the call fails because of I/O problems.
+   */
+  protected <T> T call(JmxCall<T> call) throws Exception {
+    MBeanServerConnection connection = getJmxConnection();
+    try {
+      return call.call(connection);
+    }
+    catch (IOException e) {
+      if (this.connectionPool != null && !(e instanceof MarshalException) && !(e instanceof UnmarshalException)) {
+        this.connectionPool.invalidate(this.serviceUrl, connection);
+        this.connection = null;
+      }
+      throw e;
+    }
+  }
+
   protected ObjectName getObjectName() {
     return this.objectName;
   }
 
   @Override
   public void close() {
+    this.connection = null;
     if (this.connector != null) {
       try {
         this.connector.close();
@@ -71,6 +105,10 @@ class InfraJmxConnector implements Closeable {
     }
   }
 
+  interface JmxCall<T> {
+    T call(MBeanServerConnection connection) throws Exception;
+  }
+
   private static ObjectName toObjectName(String objectName) {
     try {
       return new ObjectName(objectName);
@@ -27,20 +27,24 @@ import java.util.Set;
 import javax.management.InstanceNotFoundException;
 import javax.management.ObjectInstance;
 
+import cn.taketoday.lang.Nullable;
+
 class InfraLiveBeansConnector extends InfraJmxConnector {
   private static final String LIVE_BEANS_OBJECT_NAME = ":application=*";
   private static final String SNAPSHOT_ATTR = "SnapshotAsJson";
 
-  InfraLiveBeansConnector(String serviceUrl) {
-    super(serviceUrl, LIVE_BEANS_OBJECT_NAME);
+  InfraLiveBeansConnector(String serviceUrl, @Nullable InfraJmxConnectionPool connectionPool) {
+    super(serviceUrl, LIVE_BEANS_OBJECT_NAME, connectionPool);
   }
 
   String getSnapshot() throws Exception {
-    Set<ObjectInstance> objectInstances = getJmxConnection().queryMBeans(getObjectName(), null);
-    ObjectInstance objectInstance = ContainerUtil.getFirstItem(objectInstances);
-    if (objectInstance == null) {
-      throw new InstanceNotFoundException(getObjectName().toString());
-    }
-    return (String) getJmxConnection().getAttribute(objectInstance.getObjectName(), SNAPSHOT_ATTR);
+    return call(connection -> {
+      Set<ObjectInstance> objectInstances = connection.queryMBeans(getObjectName(), null);
+      ObjectInstance objectInstance = ContainerUtil.getFirstItem(objectInstances);
+      if (objectInstance == null) {
+        throw new InstanceNotFoundException(getObjectName().toString());
+      }
+      return (String) connection.getAttribute(objectInstance.getObjectName(), SNAPSHOT_ATTR);
+    });
   }
 }
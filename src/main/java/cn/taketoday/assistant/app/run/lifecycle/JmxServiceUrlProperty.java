@@ -41,12 +41,26 @@ class JmxServiceUrlProperty extends AsyncProperty<String> {
   private static final String JMX_CONNECTION_ADDRESS_PROPERTY = "com.sun.management.jmxremote.localConnectorAddress";
   private static final String LOCAL_JMX_CONNECTOR_URL = "service:jmx:rmi:///jndi/rmi://%s:%d/jmxrmi";
   private final ProcessHandler myProcessHandler;
+  private final InfraJmxConnectionPool myConnectionPool = new InfraJmxConnectionPool();
 
   JmxServiceUrlProperty(LifecycleErrorHandler errorHandler, Disposable parent, ProcessHandler processHandler) {
     super(errorHandler, parent, "");
     this.myProcessHandler = processHandler;
   }
 
+  /**
+   * @return pool of connections to the application, closed when this property is disposed
+   */
+  InfraJmxConnectionPool getConnectionPool() {
+    return this.myConnectionPool;
+  }
+
+  @Override
+  public void dispose() {
+    super.dispose();
+    this.myConnectionPool.close();
+  }
+
   @Override
   public String doCompute() throws LifecycleException {
     String pid = null;
@@ -40,7 +40,7 @@ class ReadyStateProperty extends AbstractProperty<Boolean> {
   private static final int STATE_CHECKING_RETRY_COUNT = 20;
 
   private final Object lock = new Object();
-  private final Property<String> serviceUrl;
+  private final JmxServiceUrlProperty serviceUrl;
   private final LifecycleErrorHandler errorHandler;
   private final Property<InfraModuleDescriptor> moduleDescriptor;
 
@@ -55,7 +55,7 @@ class ReadyStateProperty extends AbstractProperty<Boolean> {
   private static final long SERVICE_URL_RETRIEVING_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
 
   ReadyStateProperty(Property<InfraModuleDescriptor> moduleDescriptor,
-          Property<String> serviceUrl, LifecycleErrorHandler errorHandler, Disposable parent) {
+          JmxServiceUrlProperty serviceUrl, LifecycleErrorHandler errorHandler, Disposable parent) {
     super(Boolean.FALSE);
     this.disposed = false;
     this.serviceUrl = serviceUrl;
@@ -146,7 +146,7 @@ class ReadyStateProperty extends AbstractProperty<Boolean> {
           }
           var moduleDescriptor = Objects.requireNonNull(ReadyStateProperty.this.moduleDescriptor.getValue());
           try {
-            var connector = new InfraApplicationConnector(serviceUrl.getValue(), moduleDescriptor);
+            var connector = new InfraApplicationConnector(serviceUrl.getValue(), moduleDescriptor, serviceUrl.getConnectionPool());
             if (connector.isReady()) {
               setValue(Boolean.TRUE);
               dispatchPropertyChanged();
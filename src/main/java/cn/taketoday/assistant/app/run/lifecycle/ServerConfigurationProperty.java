@@ -32,7 +32,7 @@ import static cn.taketoday.assistant.app.run.lifecycle.InfraApplicationConnector
 class ServerConfigurationProperty extends AsyncApplicationProperty<InfraWebServerConfig> {
 
   ServerConfigurationProperty(Property<InfraModuleDescriptor> moduleDescriptor,
-          Property<String> serviceUrl, LifecycleErrorHandler errorHandler, Disposable parent) {
+          JmxServiceUrlProperty serviceUrl, LifecycleErrorHandler errorHandler, Disposable parent) {
     super(moduleDescriptor, serviceUrl, errorHandler, parent);
   }
 
@@ -29,7 +29,7 @@ class ServerPortProperty extends AsyncApplicationProperty<Integer> {
   private static final int SERVER_PORT_RETRY_COUNT = 20;
   private static final Integer DEFAULT_VALUE = -1;
 
-  ServerPortProperty(Property<InfraModuleDescriptor> moduleDescriptor, Property<String> serviceUrl,
+  ServerPortProperty(Property<InfraModuleDescriptor> moduleDescriptor, JmxServiceUrlProperty serviceUrl,
           LifecycleErrorHandler errorHandler, Disposable parent) {
     super(moduleDescriptor, serviceUrl, errorHandler, parent, DEFAULT_VALUE);
   }
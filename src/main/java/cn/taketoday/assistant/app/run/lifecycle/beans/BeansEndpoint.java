@@ -24,9 +24,10 @@ import com.intellij.execution.process.ProcessHandler;
 import com.intellij.openapi.project.Project;
 
 import cn.taketoday.assistant.app.run.InfraApplicationRunConfig;
-import cn.taketoday.assistant.app.run.lifecycle.CodeAnalyzerLivePropertyListener;
 import cn.taketoday.assistant.app.run.lifecycle.Endpoint;
 import cn.taketoday.assistant.app.run.lifecycle.InfraApplicationInfo;
+import cn.taketoday.assistant.app.run.lifecycle.Property;
+import cn.taketoday.assistant.app.run.lifecycle.beans.gutter.LiveBeansGutterUpdater;
 import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBeansModel;
 import cn.taketoday.assistant.app.run.lifecycle.beans.model.impl.LiveBeansSnapshotParser;
 import cn.taketoday.assistant.app.run.lifecycle.beans.tab.LiveBeansTab;
@@ -53,7 +54,8 @@ public final class BeansEndpoint extends Endpoint<LiveBeansModel> {
 
   @Override
   public void infoCreated(Project project, ProcessHandler processHandler, InfraApplicationInfo info) {
-    info.getEndpointData(this).addPropertyListener(new CodeAnalyzerLivePropertyListener(project));
+    Property<LiveBeansModel> property = info.getEndpointData(this);
+    property.addPropertyListener(new LiveBeansGutterUpdater(project, property));
   }
 
   public static Endpoint<LiveBeansModel> of() {
@@ -0,0 +1,133 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.app.run.lifecycle.beans.gutter;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import cn.taketoday.assistant.app.run.lifecycle.Property;
+import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBean;
+import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBeansModel;
+import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBeansModelDiff;
+import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveResource;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Restarts code analysis for the files whose live beans gutter icons are affected by
+ * the latest beans snapshot, instead of restarting it for the whole project.
+ * <p>
+ * Falls back to full restart when the model appears or disappears, or when too many beans changed.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class LiveBeansGutterUpdater implements Property.PropertyListener {
+  private static final int MAX_AFFECTED_BEANS = 100;
+
+  private final Project project;
+  private final Property<? extends LiveBeansModel> property;
+
+  @Nullable
+  private volatile LiveBeansModel lastModel;
+
+  public LiveBeansGutterUpdater(Project project, Property<? extends LiveBeansModel> property) {
+    this.project = project;
+    this.property = property;
+  }
+
+  @Override
+  public void propertyChanged() {
+    LiveBeansModel previous = lastModel;
+    LiveBeansModel current = property.getValue();
+    this.lastModel = current;
+    if (previous == null || current == null) {
+      DaemonCodeAnalyzer.getInstance(project).restart();
+      return;
+    }
+    LiveBeansModelDiff diff = LiveBeansModelDiff.compute(previous, current);
+    if (diff.isEmpty()) {
+      return;
+    }
+    List<LiveBean> affectedBeans = diff.getAffectedBeans();
+    if (affectedBeans.size() > MAX_AFFECTED_BEANS || !diff.getChangedContexts().isEmpty()
+            || DumbService.isDumb(project)) {
+      DaemonCodeAnalyzer.getInstance(project).restart();
+      return;
+    }
+    Set<PsiFile> files = ReadAction.compute(() -> findAffectedFiles(affectedBeans));
+    if (project.isDisposed()) {
+      return;
+    }
+    DaemonCodeAnalyzer analyzer = DaemonCodeAnalyzer.getInstance(project);
+    for (PsiFile file : files) {
+      analyzer.restart(file);
+    }
+  }
+
+  @Override
+  public void computationFinished() {
+    // failed computation resets the value without notifying about property change
+    if (property.getValue() == null) {
+      this.lastModel = null;
+    }
+  }
+
+  private Set<PsiFile> findAffectedFiles(List<LiveBean> beans) {
+    Set<PsiFile> files = new LinkedHashSet<>();
+    if (project.isDisposed() || DumbService.isDumb(project)) {
+      return files;
+    }
+    GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+    for (LiveBean bean : beans) {
+      if (bean.isInnerBean()) {
+        continue;
+      }
+      PsiClass beanClass = bean.findBeanClass(project, scope);
+      if (beanClass != null) {
+        addFile(files, beanClass);
+      }
+      LiveResource resource = bean.getResource();
+      if (resource != null && resource.hasDescription()) {
+        addFile(files, resource.findResourceElement(project, null, null, scope));
+      }
+    }
+    return files;
+  }
+
+  private static void addFile(Set<PsiFile> files, @Nullable PsiElement element) {
+    if (element != null && element.isValid()) {
+      PsiFile file = element.getContainingFile();
+      if (file != null) {
+        files.add(file.getOriginalFile());
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.app.run.lifecycle.beans.model;
+
+import com.intellij.util.SmartList;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Difference between two subsequent {@link LiveBeansModel} snapshots of the same application.
+ * <p>
+ * Beans are matched by context name and bean id. A bean is considered changed when its scope,
+ * type, resource or dependencies differ, added and changed beans refer to the current snapshot,
+ * removed beans refer to the previous one.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class LiveBeansModelDiff {
+
+  private final List<LiveBean> addedBeans = new SmartList<>();
+  private final List<LiveBean> removedBeans = new SmartList<>();
+  private final List<LiveBean> changedBeans = new SmartList<>();
+  private final Set<String> changedContexts = new HashSet<>();
+
+  private LiveBeansModelDiff() { }
+
+  /**
+   * @param previous previous snapshot or {@code null} if there was none
+   * @param current current snapshot
+   */
+  public static LiveBeansModelDiff compute(@Nullable LiveBeansModel previous, LiveBeansModel current) {
+    LiveBeansModelDiff diff = new LiveBeansModelDiff();
+    Map<String, LiveContext> previousContexts = new HashMap<>();
+    if (previous != null) {
+      for (LiveContext context : previous.getContexts()) {
+        previousContexts.put(context.getName(), context);
+      }
+    }
+    for (LiveContext context : current.getContexts()) {
+      LiveContext previousContext = previousContexts.remove(context.getName());
+      if (previousContext == null) {
+        diff.changedContexts.add(context.getName());
+        diff.addedBeans.addAll(context.getBeans());
+      }
+      else {
+        if (!Objects.equals(getParentName(context), getParentName(previousContext))) {
+          diff.changedContexts.add(context.getName());
+        }
+        diff.compareBeans(previousContext, context);
+      }
+    }
+    for (LiveContext removed : previousContexts.values()) {
+      diff.changedContexts.add(removed.getName());
+      diff.removedBeans.addAll(removed.getBeans());
+    }
+    return diff;
+  }
+
+  private void compareBeans(LiveContext previous, LiveContext current) {
+    Map<String, LiveBean> previousBeans = new HashMap<>();
+    for (LiveBean bean : previous.getBeans()) {
+      previousBeans.put(bean.getId(), bean);
+    }
+    for (LiveBean bean : current.getBeans()) {
+      LiveBean previousBean = previousBeans.remove(bean.getId());
+      if (previousBean == null) {
+        addedBeans.add(bean);
+      }
+      else if (!isSameBean(previousBean, bean)) {
+        changedBeans.add(bean);
+      }
+    }
+    removedBeans.addAll(previousBeans.values());
+  }
+
+  private static boolean isSameBean(LiveBean previous, LiveBean current) {
+    if (previous.isInnerBean() != current.isInnerBean()
+            || !Objects.equals(previous.getScope(), current.getScope())
+            || !Objects.equals(previous.getType(), current.getType())
+            || !Objects.equals(getResourceDescription(previous), getResourceDescription(current))) {
+      return false;
+    }
+    Set<LiveBean> previousDependencies = previous.getDependencies();
+    Set<LiveBean> currentDependencies = current.getDependencies();
+    if (previousDependencies.size() != currentDependencies.size()) {
+      return false;
+    }
+    Set<String> previousIds = new HashSet<>();
+    for (LiveBean dependency : previousDependencies) {
+      previousIds.add(dependency.getId());
+    }
+    for (LiveBean dependency : currentDependencies) {
+      if (!previousIds.contains(dependency.getId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Nullable
+  private static String getResourceDescription(LiveBean bean) {
+    LiveResource resource = bean.getResource();
+    return resource != null ? resource.getDescription() : null;
+  }
+
+  @Nullable
+  private static String getParentName(LiveContext context) {
+    LiveContext parent = context.getParent();
+    return parent != null ? parent.getName() : null;
+  }
+
+  public boolean isEmpty() {
+    return addedBeans.isEmpty() && removedBeans.isEmpty() && changedBeans.isEmpty() && changedContexts.isEmpty();
+  }
+
+  public List<LiveBean> getAddedBeans() {
+    return Collections.unmodifiableList(addedBeans);
+  }
+
+  public List<LiveBean> getRemovedBeans() {
+    return Collections.unmodifiableList(removedBeans);
+  }
+
+  public List<LiveBean> getChangedBeans() {
+    return Collections.unmodifiableList(changedBeans);
+  }
+
+  /**
+   * @return names of contexts that were added, removed or got another parent
+   */
+  public Set<String> getChangedContexts() {
+    return Collections.unmodifiableSet(changedContexts);
+  }
+
+  /**
+   * @return added, removed and changed beans
+   */
+  public List<LiveBean> getAffectedBeans() {
+    List<LiveBean> beans = new SmartList<>();
+    beans.addAll(addedBeans);
+    beans.addAll(removedBeans);
+    beans.addAll(changedBeans);
+    return beans;
+  }
+
+  @Override
+  public String toString() {
+    return "LiveBeansModelDiff{added=" + addedBeans.size() + ", removed=" + removedBeans.size()
+            + ", changed=" + changedBeans.size() + ", contexts=" + changedContexts + "}";
+  }
+}
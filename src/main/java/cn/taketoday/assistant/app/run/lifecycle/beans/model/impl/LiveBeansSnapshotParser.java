@@ -20,138 +20,256 @@
 
 package cn.taketoday.assistant.app.run.lifecycle.beans.model.impl;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.intellij.openapi.diagnostic.Logger;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.intellij.util.ArrayUtilRt;
-import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.SmartList;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import cn.taketoday.assistant.app.run.lifecycle.beans.model.LiveBeansModel;
+import cn.taketoday.lang.Nullable;
 
+/**
+ * Builds {@link LiveBeansModel} from beans endpoint data or from live beans JSON snapshot.
+ * <p>
+ * Endpoint data is walked directly and JSON snapshot is read with {@link JsonReader},
+ * live contexts, resources and beans are created in a single pass without intermediate
+ * object trees. Scopes, types and resource descriptions repeat a lot, they are interned per snapshot.
+ */
 public final class LiveBeansSnapshotParser {
-  private static final Logger LOG = Logger.getInstance(LiveBeansSnapshotParser.class);
-  private static final Context[] EMPTY_CONTEXTS = new Context[0];
-  private static final Bean[] EMPTY_BEANS = new Bean[0];
-
-  public LiveBeansModel parseEndpoint(Object data) {
-    Gson gson = new GsonBuilder().create();
-    JsonElement jsonElement = gson.toJsonTree(data);
-    EndpointApplication application = gson.fromJson(jsonElement, EndpointApplication.class);
-    Context[] contexts = ContainerUtil.map2Array(application.contexts.entrySet(), EMPTY_CONTEXTS, entry -> {
-      EndpointContext endpointContext = entry.getValue();
-      Context context = new Context();
-      context.context = entry.getKey();
-      context.parent = endpointContext.parentId;
-      context.beans = ContainerUtil.map2Array(endpointContext.beans.entrySet(), EMPTY_BEANS, beanEntry -> {
-        Bean bean = beanEntry.getValue();
-        bean.bean = beanEntry.getKey();
-        return bean;
+
+  public LiveBeansModel parseEndpoint(@Nullable Object data) {
+    ModelBuilder builder = new ModelBuilder();
+    if (data instanceof Map<?, ?> application && application.get("contexts") instanceof Map<?, ?> contexts) {
+      contexts.forEach((name, value) -> {
+        if (name instanceof String contextName && value instanceof Map<?, ?> context) {
+          ContextBuilder contextBuilder = builder.addContext(contextName, asString(context.get("parentId")));
+          if (context.get("beans") instanceof Map<?, ?> beans) {
+            beans.forEach((id, beanValue) -> {
+              if (id instanceof String beanId && beanValue instanceof Map<?, ?> bean) {
+                contextBuilder.addBean(beanId, asString(bean.get("scope")), asString(bean.get("type")),
+                        asString(bean.get("resource")), asStrings(bean.get("dependencies")));
+              }
+            });
+          }
+        }
       });
-      return context;
-    });
-    return parse(contexts);
+    }
+    return builder.build();
   }
 
-  public LiveBeansModel parse(String snapshot) {
-    Gson gson = new GsonBuilder().create();
-    Context[] contexts = gson.fromJson(snapshot, Context[].class);
-    return parse(contexts);
+  public LiveBeansModel parse(String snapshot) throws IOException {
+    ModelBuilder builder = new ModelBuilder();
+    try (JsonReader reader = new JsonReader(new StringReader(snapshot))) {
+      reader.setLenient(true);
+      reader.beginArray();
+      while (reader.hasNext()) {
+        readContext(reader, builder);
+      }
+      reader.endArray();
+    }
+    return builder.build();
   }
 
-  private static LiveBeansModel parse(Context[] contexts) {
-    Map<Context, LiveContextImpl> liveContexts = new LinkedHashMap<>();
-    Map<String, LiveContextImpl> liveContextsByName = new HashMap<>();
-    Map<Context, Map<String, LiveBeanImpl>> contextLiveBeans = new HashMap<>();
-    Map<String, LiveBeanImpl> allBeans = new HashMap<>();
-    for (Context context : contexts) {
-      if (context.context != null) {
-        LiveContextImpl liveContext = new LiveContextImpl(context.context);
-        liveContexts.put(context, liveContext);
-        liveContextsByName.putIfAbsent(context.context, liveContext);
-        Map<String, LiveResourceImpl> liveResources = new HashMap<>();
-        Map<String, LiveBeanImpl> liveBeans = new HashMap<>();
-        contextLiveBeans.put(context, liveBeans);
-        for (Bean bean : context.beans) {
-          if (bean.bean != null) {
-            String resource = bean.resource;
-            if (resource == null) {
-              resource = "null";
-            }
-            LiveResourceImpl liveResource = liveResources.get(resource);
-            if (liveResource == null) {
-              liveResource = new LiveResourceImpl(resource, liveContext);
-              liveResources.put(resource, liveResource);
+  private static void readContext(JsonReader reader, ModelBuilder builder) throws IOException {
+    String name = null;
+    String parent = null;
+    List<BeanData> beans = new ArrayList<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "context" -> name = nextString(reader);
+        case "parent" -> parent = nextString(reader);
+        case "beans" -> {
+          if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+          }
+          else {
+            reader.beginArray();
+            while (reader.hasNext()) {
+              BeanData bean = readBean(reader);
+              if (bean != null) {
+                beans.add(bean);
+              }
             }
-            LiveBeanImpl liveBean = LiveBeanImpl.createLiveBean(bean.bean, bean.scope,
-                    bean.type, liveResource);
-            liveResource.addBean(liveBean);
-            liveBeans.put(bean.bean, liveBean);
-            allBeans.put(bean.bean, liveBean);
+            reader.endArray();
           }
         }
-        liveContext.addResources(liveResources.values());
+        default -> reader.skipValue();
       }
     }
-    for (Context context2 : contexts) {
-      if (context2.context != null) {
-        if (context2.parent != null) {
-          LiveContextImpl liveContext2 = liveContexts.get(context2);
-          LOG.assertTrue(liveContext2 != null);
-          liveContext2.setParent(liveContextsByName.get(context2.parent));
-        }
-        for (Bean bean2 : context2.beans) {
-          if (bean2.bean != null) {
-            Map<String, LiveBeanImpl> liveBeans2 = contextLiveBeans.get(context2);
-            LOG.assertTrue(liveBeans2 != null);
-            LiveBeanImpl liveBean2 = liveBeans2.get(bean2.bean);
-            LOG.assertTrue(liveBean2 != null);
-            for (String dependency : bean2.dependencies) {
-              if (dependency != null) {
-                LiveBeanImpl dependencyBean = liveBeans2.get(dependency);
-                if (dependencyBean == null) {
-                  dependencyBean = allBeans.get(dependency);
-                  if (dependencyBean == null) {
-                    dependencyBean = LiveBeanImpl.createInnerBean(dependency);
-                  }
-                }
-                liveBean2.addDependency(dependencyBean);
-              }
+    reader.endObject();
+
+    if (name != null) {
+      ContextBuilder contextBuilder = builder.addContext(name, parent);
+      for (BeanData bean : beans) {
+        contextBuilder.addBean(bean.id, bean.scope, bean.type, bean.resource, bean.dependencies);
+      }
+    }
+  }
+
+  @Nullable
+  private static BeanData readBean(JsonReader reader) throws IOException {
+    String id = null;
+    String scope = null;
+    String type = null;
+    String resource = null;
+    String[] dependencies = ArrayUtilRt.EMPTY_STRING_ARRAY;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "bean" -> id = nextString(reader);
+        case "scope" -> scope = nextString(reader);
+        case "type" -> type = nextString(reader);
+        case "resource" -> resource = nextString(reader);
+        case "dependencies" -> {
+          if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+          }
+          else {
+            List<String> values = new SmartList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+              values.add(nextString(reader));
             }
+            reader.endArray();
+            dependencies = ArrayUtilRt.toStringArray(values);
           }
         }
+        default -> reader.skipValue();
       }
     }
-    return new LiveBeansModelImpl(liveContexts.values());
+    reader.endObject();
+    return id == null ? null : new BeanData(id, scope, type, resource, dependencies);
   }
 
-  private static class Context {
-    public String context;
-    public String parent;
-    public Bean[] beans = EMPTY_BEANS;
+  @Nullable
+  private static String nextString(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    return reader.nextString();
+  }
 
+  @Nullable
+  private static String asString(@Nullable Object value) {
+    return value == null ? null : value.toString();
   }
 
-  private static class Bean {
-    public String bean;
-    public String scope;
-    public String type;
-    public String resource;
-    public String[] dependencies = ArrayUtilRt.EMPTY_STRING_ARRAY;
+  private static String[] asStrings(@Nullable Object value) {
+    if (value instanceof Collection<?> collection) {
+      String[] result = new String[collection.size()];
+      int i = 0;
+      for (Object element : collection) {
+        result[i++] = asString(element);
+      }
+      return result;
+    }
+    if (value != null && value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      String[] result = new String[length];
+      for (int i = 0; i < length; i++) {
+        result[i] = asString(Array.get(value, i));
+      }
+      return result;
+    }
+    return ArrayUtilRt.EMPTY_STRING_ARRAY;
+  }
+
+  private record BeanData(String id, @Nullable String scope, @Nullable String type,
+          @Nullable String resource, String[] dependencies) {
+  }
 
+  private record PendingDependencies(LiveBeanImpl bean, String[] dependencies) {
   }
 
-  private static class EndpointApplication {
-    public Map<String, EndpointContext> contexts;
+  private static final class ModelBuilder {
+    private final Map<String, String> myStrings = new HashMap<>();
+    private final List<ContextBuilder> myContexts = new ArrayList<>();
+    private final Map<String, LiveContextImpl> myContextsByName = new HashMap<>();
+    private final Map<String, LiveBeanImpl> myAllBeans = new HashMap<>();
+
+    ContextBuilder addContext(String name, @Nullable String parent) {
+      ContextBuilder context = new ContextBuilder(this, new LiveContextImpl(name), parent);
+      myContexts.add(context);
+      myContextsByName.putIfAbsent(name, context.myContext);
+      return context;
+    }
+
+    @Nullable
+    String intern(@Nullable String value) {
+      return value == null ? null : myStrings.computeIfAbsent(value, s -> s);
+    }
+
+    /**
+     * Links parents and dependencies, all beans of all contexts are known at this point.
+     */
+    LiveBeansModel build() {
+      List<LiveContextImpl> contexts = new ArrayList<>(myContexts.size());
+      for (ContextBuilder context : myContexts) {
+        context.myContext.addResources(context.myResources.values());
+        if (context.myParent != null) {
+          context.myContext.setParent(myContextsByName.get(context.myParent));
+        }
+        context.linkDependencies(myAllBeans);
+        contexts.add(context.myContext);
+      }
+      return new LiveBeansModelImpl(contexts);
+    }
   }
 
-  private static class EndpointContext {
-    public Map<String, Bean> beans;
-    public String parentId;
+  private static final class ContextBuilder {
+    private final ModelBuilder myModel;
+    private final LiveContextImpl myContext;
+    @Nullable
+    private final String myParent;
+    private final Map<String, LiveResourceImpl> myResources = new LinkedHashMap<>();
+    private final Map<String, LiveBeanImpl> myBeans = new HashMap<>();
+    private final List<PendingDependencies> myDependencies = new ArrayList<>();
+
+    ContextBuilder(ModelBuilder model, LiveContextImpl context, @Nullable String parent) {
+      this.myModel = model;
+      this.myContext = context;
+      this.myParent = parent;
+    }
+
+    void addBean(String id, @Nullable String scope, @Nullable String type, @Nullable String resource, String[] dependencies) {
+      String description = myModel.intern(resource == null ? "null" : resource);
+      LiveResourceImpl liveResource = myResources.computeIfAbsent(description, d -> new LiveResourceImpl(d, myContext));
+      LiveBeanImpl liveBean = LiveBeanImpl.createLiveBean(id, myModel.intern(scope), myModel.intern(type), liveResource);
+      liveResource.addBean(liveBean);
+      myBeans.put(id, liveBean);
+      myModel.myAllBeans.put(id, liveBean);
+      if (dependencies.length > 0) {
+        myDependencies.add(new PendingDependencies(liveBean, dependencies));
+      }
+    }
 
+    void linkDependencies(Map<String, LiveBeanImpl> allBeans) {
+      for (PendingDependencies pending : myDependencies) {
+        for (String dependency : pending.dependencies) {
+          if (dependency != null) {
+            LiveBeanImpl dependencyBean = myBeans.get(dependency);
+            if (dependencyBean == null) {
+              dependencyBean = allBeans.get(dependency);
+              if (dependencyBean == null) {
+                dependencyBean = LiveBeanImpl.createInnerBean(dependency);
+              }
+            }
+            pending.bean.addDependency(dependencyBean);
+          }
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,155 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.beans;
+
+import com.intellij.lang.xml.XMLLanguage;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiCapturedWildcardType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiIntersectionType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.PsiTypeVisitor;
+import com.intellij.psi.PsiWildcardType;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.ArrayUtil;
+import com.intellij.uast.UastModificationTracker;
+import com.intellij.util.containers.CollectionFactory;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import cn.taketoday.assistant.CommonInfraModel;
+import cn.taketoday.assistant.InfraModificationTrackersManager;
+import cn.taketoday.assistant.model.BeanPointer;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Per-model cache of by-type autowiring candidates, candidates are searched and filtered
+ * (autowire candidates, overridden and redefined beans, priority, generics) once per search
+ * type and primary candidate name until outer models, declarations or XML files change.
+ * Edits inside method bodies keep cached candidates.
+ * <p>
+ * Injection points of the same class share the processing model, so a class with many
+ * injected fields of the same types is resolved with a few model searches.
+ * <p>
+ * Types referring to type parameters or wildcards are not cached, their text does
+ * not identify them, e.g. {@code T} of different methods with different bounds.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class AutowireByTypeCache {
+
+  private static final Map<CommonInfraModel, CachedValue<Map<Key, Set<BeanPointer<?>>>>> caches =
+          CollectionFactory.createConcurrentWeakIdentityMap();
+
+  private AutowireByTypeCache() { }
+
+  static Set<BeanPointer<?>> autowireByType(CommonInfraModel model, PsiType psiType,
+          @Nullable String primaryCandidateName, boolean filterByGenerics, Supplier<Set<BeanPointer<?>>> computable) {
+    Module module = model.getModule();
+    if (module == null || module.isDisposed() || !isCacheable(psiType)) {
+      return computable.get();
+    }
+    Map<Key, Set<BeanPointer<?>>> cache = caches.computeIfAbsent(model, m -> createCache(module.getProject())).getValue();
+    Key key = new Key(psiType.getCanonicalText(), primaryCandidateName, filterByGenerics);
+    Set<BeanPointer<?>> pointers = cache.get(key);
+    if (pointers == null) {
+      pointers = computable.get();
+      cache.put(key, pointers);
+    }
+    return new LinkedHashSet<>(pointers);
+  }
+
+  private static CachedValue<Map<Key, Set<BeanPointer<?>>>> createCache(Project project) {
+    return CachedValuesManager.getManager(project).createCachedValue(
+            () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), getDependencies(project)), false);
+  }
+
+  /**
+   * @return dependencies of cached autowiring candidates and of processing models they are cached for
+   */
+  static Object[] getDependencies(Project project) {
+    return ArrayUtil.mergeArrays(InfraModificationTrackersManager.from(project).getOuterModelsDependencies(),
+            new Object[] { UastModificationTracker.getInstance(project),
+                    PsiModificationTracker.getInstance(project).forLanguage(XMLLanguage.INSTANCE) });
+  }
+
+  private static boolean isCacheable(PsiType psiType) {
+    return psiType.accept(CacheableTypeVisitor.INSTANCE);
+  }
+
+  private static final class CacheableTypeVisitor extends PsiTypeVisitor<Boolean> {
+    static final CacheableTypeVisitor INSTANCE = new CacheableTypeVisitor();
+
+    @Override
+    public Boolean visitType(PsiType type) {
+      return true;
+    }
+
+    @Override
+    public Boolean visitArrayType(PsiArrayType arrayType) {
+      return arrayType.getComponentType().accept(this);
+    }
+
+    @Override
+    public Boolean visitWildcardType(PsiWildcardType wildcardType) {
+      return false;
+    }
+
+    @Override
+    public Boolean visitCapturedWildcardType(PsiCapturedWildcardType capturedWildcardType) {
+      return false;
+    }
+
+    @Override
+    public Boolean visitIntersectionType(PsiIntersectionType intersectionType) {
+      return false;
+    }
+
+    @Override
+    public Boolean visitClassType(PsiClassType classType) {
+      PsiClass psiClass = classType.resolve();
+      if (psiClass == null || psiClass instanceof PsiTypeParameter) {
+        return false;
+      }
+      for (PsiType parameter : classType.getParameters()) {
+        if (!parameter.accept(this)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private record Key(String searchType, @Nullable String primaryCandidateName, boolean filterByGenerics) {
+  }
+}
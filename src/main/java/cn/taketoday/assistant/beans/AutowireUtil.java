@@ -28,6 +28,8 @@ import com.intellij.jam.model.util.JamCommonUtil;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.JavaPsiFacade;
@@ -56,9 +58,13 @@ import com.intellij.psi.impl.cache.CacheManager;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.UsageSearchContext;
 import com.intellij.psi.search.searches.AnnotatedMembersSearch;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.ClassUtil;
 import com.intellij.psi.util.InheritanceUtil;
 import com.intellij.psi.util.PropertyUtilBase;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
@@ -90,6 +96,7 @@ import cn.taketoday.assistant.CommonInfraModel;
 import cn.taketoday.assistant.InfraConstant;
 import cn.taketoday.assistant.InfraLibraryUtil;
 import cn.taketoday.assistant.InfraManager;
+import cn.taketoday.assistant.InfraModificationTrackersManager;
 import cn.taketoday.assistant.InfraModelVisitorUtils;
 import cn.taketoday.assistant.JavaeeConstant;
 import cn.taketoday.assistant.beans.stereotype.InfraJamModel;
@@ -136,6 +143,9 @@ import cn.taketoday.lang.Nullable;
  */
 
 public final class AutowireUtil {
+  private static final Key<CachedValue<Set<String>>> AUTOWIRED_ANNOTATIONS_KEY = Key.create("AUTOWIRED_ANNOTATIONS");
+  private static final Key<CachedValue<String[]>> PRIORITY_ANNOTATIONS_KEY = Key.create("PRIORITY_ANNOTATIONS");
+
   private static final Set<String> AUTOWIRED_ANNOTATIONS = Set.of(
           AnnotationConstant.AUTOWIRED,
           JavaeeConstant.JAVAX_INJECT,
@@ -436,12 +446,21 @@ public final class AutowireUtil {
 
   @Nullable
   private static PsiAnnotation getQualifiedAnnotation(PsiModifierListOwner modifierListOwner, @Nullable Module module) {
-    PsiMethod psiMethod;
-    PsiAnnotation annotation;
     if (module == null) {
       return null;
     }
-    List<PsiClass> annotationTypeClasses = JamAnnotationTypeUtil.getQualifierAnnotationTypesWithChildren(module);
+    return getQualifiedAnnotation(modifierListOwner, JamAnnotationTypeUtil.getQualifierAnnotationTypesWithChildren(module), getAutowiredAnnotations(module));
+  }
+
+  /**
+   * @param annotationTypeClasses qualifier annotation types of the module
+   * @param autowiredAnnotations autowired annotations of the module
+   */
+  @Nullable
+  static PsiAnnotation getQualifiedAnnotation(PsiModifierListOwner modifierListOwner,
+          List<PsiClass> annotationTypeClasses, Set<String> autowiredAnnotations) {
+    PsiMethod psiMethod;
+    PsiAnnotation annotation;
     for (PsiClass annotationTypeClass : annotationTypeClasses) {
       if (((modifierListOwner instanceof PsiField)
               && AnnotationTargetUtil.findAnnotationTarget(annotationTypeClass, PsiAnnotation.TargetType.FIELD) != null)
@@ -455,7 +474,7 @@ public final class AutowireUtil {
       }
     }
     if ((modifierListOwner instanceof PsiParameter)
-            && (psiMethod = PsiTreeUtil.getParentOfType(modifierListOwner, PsiMethod.class)) != null && isAutowiredByAnnotation(psiMethod)) {
+            && (psiMethod = PsiTreeUtil.getParentOfType(modifierListOwner, PsiMethod.class)) != null && isAutowiredByAnnotation(psiMethod, autowiredAnnotations)) {
       for (PsiClass annotationTypeClass2 : annotationTypeClasses) {
         if (AnnotationTargetUtil.findAnnotationTarget(annotationTypeClass2, PsiAnnotation.TargetType.METHOD) != null
                 && (annotation = AnnotationUtil.findAnnotation(psiMethod, true, annotationTypeClass2.getQualifiedName())) != null) {
@@ -497,8 +516,15 @@ public final class AutowireUtil {
     if (modifierList == null || modifierList.hasModifierProperty("static") || modifierList.getAnnotations().length == 0) {
       return false;
     }
-    Set<String> autowireAnnotations = getAutowiredAnnotations(ModuleUtilCore.findModuleForPsiElement(owner));
-    return AnnotationUtil.isAnnotated(owner, autowireAnnotations, 0);
+    return isAutowiredByAnnotation(owner, getAutowiredAnnotations(ModuleUtilCore.findModuleForPsiElement(owner)));
+  }
+
+  static boolean isAutowiredByAnnotation(PsiModifierListOwner owner, Set<String> autowiredAnnotations) {
+    PsiModifierList modifierList = owner.getModifierList();
+    if (modifierList == null || modifierList.hasModifierProperty("static") || modifierList.getAnnotations().length == 0) {
+      return false;
+    }
+    return AnnotationUtil.isAnnotated(owner, autowiredAnnotations, 0);
   }
 
   public static boolean isInjectionPoint(PsiMethod psiMethod) {
@@ -564,6 +590,11 @@ public final class AutowireUtil {
     if (psiClass != null && psiClass.getQualifiedName() == null) {
       return Collections.emptySet();
     }
+    return AutowireByTypeCache.autowireByType(model, psiType, primaryCandidateName, filterByGenerics,
+            () -> doAutowireByType(model, psiType, primaryCandidateName, filterByGenerics));
+  }
+
+  private static Set<BeanPointer<?>> doAutowireByType(CommonInfraModel model, PsiType psiType, @Nullable String primaryCandidateName, boolean filterByGenerics) {
     ModelSearchParameters.BeanClass searchParameters = ModelSearchParameters.byType(psiType).withInheritors().effectiveBeanTypes();
     List<BeanPointer<?>> beans = InfraModelSearchers.findBeans(model, searchParameters);
     if (beans.size() == 0 && (psiType instanceof PsiClassType)) {
@@ -707,13 +738,16 @@ public final class AutowireUtil {
     if (module == null) {
       return AUTOWIRED_ANNOTATIONS;
     }
-    var annotations = new LinkedHashSet<String>();
-    annotations.addAll(AUTOWIRED_ANNOTATIONS);
-    annotations.addAll(getMetaAutowiredAnnotations(module));
-    if (isUsingAutowiredPostProcessor(module)) {
-      annotations.addAll(getCustomAnnotationsFromPostProcessors(module));
-    }
-    return annotations;
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, AUTOWIRED_ANNOTATIONS_KEY, () -> {
+      var annotations = new LinkedHashSet<String>();
+      annotations.addAll(AUTOWIRED_ANNOTATIONS);
+      annotations.addAll(getMetaAutowiredAnnotations(module));
+      if (isUsingAutowiredPostProcessor(module)) {
+        annotations.addAll(getCustomAnnotationsFromPostProcessors(module));
+      }
+      return CachedValueProvider.Result.create(Collections.unmodifiableSet(annotations),
+              PsiModificationTracker.MODIFICATION_COUNT, ProjectRootManager.getInstance(module.getProject()));
+    }, false);
   }
 
   private static List<String> getMetaAutowiredAnnotations(Module module) {
@@ -910,6 +944,12 @@ public final class AutowireUtil {
     if (psiClass == null || psiClass.getQualifiedName() == null) {
       return null;
     }
+    return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+            doGetProcessingInfraModel(psiClass), AutowireByTypeCache.getDependencies(psiClass.getProject())));
+  }
+
+  @Nullable
+  private static CommonInfraModel doGetProcessingInfraModel(PsiClass psiClass) {
     if (psiClass instanceof PsiAnonymousClass) {
       return InfraModelService.of().getModuleCombinedModel(psiClass);
     }
@@ -1008,7 +1048,12 @@ public final class AutowireUtil {
   }
 
   private static String[] getPriorityAnnotations(@Nullable Module module) {
-    return module == null ? JavaeeConstant.PRIORITY_ANNOTATIONS : ArrayUtil.toStringArray(getMetaPriorityAnnotations(module));
+    if (module == null) {
+      return JavaeeConstant.PRIORITY_ANNOTATIONS;
+    }
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, PRIORITY_ANNOTATIONS_KEY, () ->
+            CachedValueProvider.Result.create(ArrayUtil.toStringArray(getMetaPriorityAnnotations(module)),
+                    InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module)), false);
   }
 
   private static List<String> getMetaPriorityAnnotations(Module module) {
@@ -1080,13 +1125,25 @@ public final class AutowireUtil {
     return PsiUtil.substituteTypeParameter(psiClassType, "java.util.Optional", 0, false);
   }
 
+  /**
+   * @see ClassInjectionPoints#getAutowiredBeans(PsiModifierListOwner, PsiType)
+   */
   public static Set<BeanPointer<?>> getAutowiredBeansFor(PsiModifierListOwner injectionPointOwner, PsiType psiType, CommonInfraModel infraModel) {
+    boolean resourceInjection = injectionPointOwner instanceof PsiMember && getResourceAnnotation(injectionPointOwner) != null;
+    PsiAnnotation qualifiedAnnotation = resourceInjection ? null : getEffectiveQualifiedAnnotation(injectionPointOwner);
+    return getAutowiredBeansFor(injectionPointOwner, psiType, infraModel, qualifiedAnnotation);
+  }
+
+  /**
+   * @param qualifiedAnnotation effective qualifier annotation of the injection point
+   */
+  static Set<BeanPointer<?>> getAutowiredBeansFor(PsiModifierListOwner injectionPointOwner, PsiType psiType,
+          CommonInfraModel infraModel, @Nullable PsiAnnotation qualifiedAnnotation) {
     PsiAnnotation resourceAnnotation = getResourceAnnotation(injectionPointOwner);
     if (resourceAnnotation != null && (injectionPointOwner instanceof PsiMember)) {
       BeanPointer<?> bean = getResourceAutowiredBean(injectionPointOwner, infraModel, resourceAnnotation);
       return bean != null ? Collections.singleton(bean) : Collections.emptySet();
     }
-    PsiAnnotation qualifiedAnnotation = getEffectiveQualifiedAnnotation(injectionPointOwner);
     if (qualifiedAnnotation != null) {
       return getQualifiedAutowiredBeans(psiType, qualifiedAnnotation, infraModel);
     }
@@ -0,0 +1,185 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.beans;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PropertyUtilBase;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.taketoday.assistant.CommonInfraModel;
+import cn.taketoday.assistant.model.BeanPointer;
+import cn.taketoday.assistant.util.JamAnnotationTypeUtil;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Autowiring of all injection points of a class, resolved against the class processing model.
+ * <p>
+ * The model, autowired and qualifier annotation types are looked up once per class instead of
+ * once per injection point, and resolved candidates are kept until PSI or outer models change.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @see AutowireUtil#getAutowiredBeansFor(PsiModifierListOwner, PsiType, CommonInfraModel)
+ * @since 1.0
+ */
+public final class ClassInjectionPoints {
+
+  private final PsiClass psiClass;
+
+  @Nullable
+  private final CommonInfraModel model;
+
+  private final Set<String> autowiredAnnotations;
+
+  private final List<PsiClass> qualifierAnnotationTypes;
+
+  private final Map<Key, Set<BeanPointer<?>>> autowiredBeans = new ConcurrentHashMap<>();
+
+  private ClassInjectionPoints(PsiClass psiClass) {
+    this.psiClass = psiClass;
+    this.model = AutowireUtil.getProcessingInfraModel(psiClass);
+    Module module = ModuleUtilCore.findModuleForPsiElement(psiClass);
+    this.autowiredAnnotations = AutowireUtil.getAutowiredAnnotations(module);
+    this.qualifierAnnotationTypes = module == null
+            ? Collections.emptyList()
+            : JamAnnotationTypeUtil.getQualifierAnnotationTypesWithChildren(module);
+  }
+
+  public static ClassInjectionPoints of(PsiClass psiClass) {
+    return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+            new ClassInjectionPoints(psiClass), AutowireByTypeCache.getDependencies(psiClass.getProject())));
+  }
+
+  /**
+   * @return autowired candidates of injection points of given classes
+   * @see #getAllAutowiredBeans()
+   */
+  public static Map<PsiClass, Map<PsiModifierListOwner, Set<BeanPointer<?>>>> getAllAutowiredBeans(Collection<? extends PsiClass> classes) {
+    Map<PsiClass, Map<PsiModifierListOwner, Set<BeanPointer<?>>>> result = new LinkedHashMap<>();
+    for (PsiClass psiClass : classes) {
+      result.put(psiClass, of(psiClass).getAllAutowiredBeans());
+    }
+    return result;
+  }
+
+  public PsiClass getPsiClass() {
+    return psiClass;
+  }
+
+  /**
+   * @return processing model of the class, {@code null} if class is not in any model
+   * @see AutowireUtil#getProcessingInfraModel(PsiClass)
+   */
+  @Nullable
+  public CommonInfraModel getModel() {
+    return model;
+  }
+
+  public boolean isAutowiredByAnnotation(PsiModifierListOwner owner) {
+    return AutowireUtil.isAutowiredByAnnotation(owner, autowiredAnnotations);
+  }
+
+  /**
+   * @see AutowireUtil#getEffectiveQualifiedAnnotation(PsiModifierListOwner)
+   */
+  @Nullable
+  public PsiAnnotation getEffectiveQualifiedAnnotation(PsiModifierListOwner owner) {
+    if (owner instanceof PsiMethod) {
+      return null;
+    }
+    return AutowireUtil.getQualifiedAnnotation(owner, qualifierAnnotationTypes, autowiredAnnotations);
+  }
+
+  /**
+   * @param owner field, method or parameter of this class
+   * @param type type to autowire
+   * @return autowired candidates, empty if class is not in any model
+   */
+  public Set<BeanPointer<?>> getAutowiredBeans(PsiModifierListOwner owner, PsiType type) {
+    if (model == null) {
+      return Collections.emptySet();
+    }
+    Key key = new Key(owner, type.getCanonicalText());
+    Set<BeanPointer<?>> beans = autowiredBeans.get(key);
+    if (beans == null) {
+      beans = AutowireUtil.getAutowiredBeansFor(owner, type, model, getEffectiveQualifiedAnnotation(owner));
+      autowiredBeans.put(key, beans);
+    }
+    return beans;
+  }
+
+  /**
+   * Resolves all injection points of the class in one pass: autowired fields, resource setters
+   * and parameters of injection point methods and constructors, except {@code @Value} ones.
+   *
+   * @return autowired candidates by injection point, in declaration order
+   */
+  public Map<PsiModifierListOwner, Set<BeanPointer<?>>> getAllAutowiredBeans() {
+    if (model == null) {
+      return Collections.emptyMap();
+    }
+    Map<PsiModifierListOwner, Set<BeanPointer<?>>> result = new LinkedHashMap<>();
+    for (PsiField field : psiClass.getFields()) {
+      if (isAutowiredByAnnotation(field)) {
+        result.put(field, getAutowiredBeans(field, field.getType()));
+      }
+    }
+    for (PsiMethod method : psiClass.getMethods()) {
+      if (!AutowireUtil.isInjectionPoint(method)) {
+        continue;
+      }
+      if (AutowireUtil.getResourceAnnotation(method) != null) {
+        PsiType type = PropertyUtilBase.getPropertyType(method);
+        if (type != null) {
+          result.put(method, getAutowiredBeans(method, type));
+        }
+      }
+      else {
+        for (PsiParameter parameter : method.getParameterList().getParameters()) {
+          if (!AutowireUtil.isValueAnnoInjection(parameter)) {
+            result.put(parameter, getAutowiredBeans(parameter, parameter.getType()));
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private record Key(PsiModifierListOwner owner, String type) {
+  }
+
+}
@@ -65,11 +65,28 @@ public class InfraJamModel {
       return CachedValuesManager.getManager(project).getCachedValue(myModule, () -> {
         var components = getStereotypeComponents(GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(this.myModule));
         return Result.create(components,
-                InfraModificationTrackersManager.from(project).getOuterModelsDependencies());
+                InfraModificationTrackersManager.from(project).getOuterModelsDependencies(myModule));
       });
     }
   }
 
+  /**
+   * @param packageNames qualified names of scanned packages, sub packages are included
+   * @return stereotype components of the module declared in given packages
+   */
+  public List<InfraStereotypeElement> getStereotypeComponents(Collection<String> packageNames) {
+    Project project = myModule.getProject();
+    if (DumbService.isDumb(project)) {
+      return Collections.emptyList();
+    }
+    StereotypePackageIndex index = CachedValuesManager.getManager(project).getCachedValue(myModule, () -> {
+      var packageIndex = new StereotypePackageIndex(getStereotypeComponents());
+      return Result.create(packageIndex,
+              InfraModificationTrackersManager.from(project).getOuterModelsDependencies(myModule));
+    });
+    return index.find(packageNames);
+  }
+
   public List<InfraStereotypeElement> getStereotypeComponents(GlobalSearchScope scope) {
     List<InfraStereotypeElement> stereotypeElements = new ArrayList<>();
     stereotypeElements.addAll(getComponents(scope));
@@ -0,0 +1,90 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.beans.stereotype;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.SmartList;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import gnu.trove.TIntArrayList;
+
+/**
+ * Stereotype components of a module grouped by package names,
+ * answers component-scan requests with package prefix lookups.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class StereotypePackageIndex {
+
+  private final List<InfraStereotypeElement> components;
+
+  private final NavigableMap<String, TIntArrayList> byPackage = new TreeMap<>();
+
+  StereotypePackageIndex(List<InfraStereotypeElement> components) {
+    this.components = components;
+    for (int i = 0; i < components.size(); i++) {
+      PsiClass psiClass = components.get(i).getPsiElement();
+      if (psiClass != null && psiClass.isValid()) {
+        String packageName = PsiUtil.getPackageName(psiClass);
+        if (packageName != null) {
+          byPackage.computeIfAbsent(packageName, p -> new TIntArrayList()).add(i);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return components declared in given packages or their sub packages, in original order
+   */
+  List<InfraStereotypeElement> find(Collection<String> packageNames) {
+    BitSet found = new BitSet(components.size());
+    for (String packageName : packageNames) {
+      String subPackagePrefix = packageName + '.';
+      for (Map.Entry<String, TIntArrayList> entry : byPackage.tailMap(packageName, true).entrySet()) {
+        String name = entry.getKey();
+        if (!name.startsWith(packageName)) {
+          break;
+        }
+        // default package contains all packages
+        if (packageName.isEmpty() || name.length() == packageName.length() || name.startsWith(subPackagePrefix)) {
+          TIntArrayList indices = entry.getValue();
+          for (int i = 0; i < indices.size(); i++) {
+            found.set(indices.getQuick(i));
+          }
+        }
+      }
+    }
+    SmartList<InfraStereotypeElement> result = new SmartList<>();
+    for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+      result.add(components.get(i));
+    }
+    return result;
+  }
+
+}
@@ -42,6 +42,7 @@ import com.intellij.psi.PsiModifierListOwner;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.util.PropertyUtilBase;
+import com.intellij.psi.util.PsiTreeUtil;
 
 import org.jetbrains.uast.UAnnotation;
 import org.jetbrains.uast.UElement;
@@ -67,6 +68,7 @@ import cn.taketoday.assistant.Icons;
 import cn.taketoday.assistant.InfraBundle;
 import cn.taketoday.assistant.JavaClassInfo;
 import cn.taketoday.assistant.beans.AutowireUtil;
+import cn.taketoday.assistant.beans.ClassInjectionPoints;
 import cn.taketoday.assistant.gutter.BeansPsiElementCellRenderer;
 import cn.taketoday.assistant.gutter.GutterIconBuilder;
 import cn.taketoday.assistant.impl.InfraAutoConfiguredModels;
@@ -292,7 +294,10 @@ public class AutowiredAnnotator extends AbstractInfraAnnotator {
           PsiModifierListOwner variable, @Nullable Collection<? super RelatedItemLineMarkerInfo<?>> result,
           CommonInfraModel model, PsiElement identifier, PsiType type) {
 
-    Collection<BeanPointer<?>> list = AutowireUtil.getAutowiredBeansFor(variable, getAutowiredType(type), model);
+    PsiClass psiClass = PsiTreeUtil.getParentOfType(variable, PsiClass.class);
+    Collection<BeanPointer<?>> list = psiClass != null
+                                      ? ClassInjectionPoints.of(psiClass).getAutowiredBeans(variable, getAutowiredType(type))
+                                      : AutowireUtil.getAutowiredBeansFor(variable, getAutowiredType(type), model);
     if (!list.isEmpty()) {
       if (result != null) {
         NavigationGutterIconBuilderUtil.addAutowiredDependenciesIcon(list, result, identifier);
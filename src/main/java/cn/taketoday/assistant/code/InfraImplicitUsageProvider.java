@@ -58,6 +58,7 @@ import cn.taketoday.assistant.InfraLibraryUtil;
 import cn.taketoday.assistant.InfraModificationTrackersManager;
 import cn.taketoday.assistant.JavaClassInfo;
 import cn.taketoday.assistant.JavaeeConstant;
+import cn.taketoday.assistant.impl.InfraOuterModelsModificationTracker.ConfigKind;
 import cn.taketoday.assistant.model.jam.javaConfig.ContextJavaBean;
 import cn.taketoday.assistant.util.InfraUtils;
 import cn.taketoday.lang.Nullable;
@@ -228,7 +229,7 @@ final class InfraImplicitUsageProvider implements ImplicitUsageProvider {
       }
       Set<PsiFile> files = new HashSet<>(ContainerUtil.mapNotNull(wiredMethods, PsiElement::getContainingFile));
       List<Object> dependencies = new ArrayList<>(files);
-      dependencies.add(InfraModificationTrackersManager.from(module.getProject()).getOuterModelsModificationTracker());
+      dependencies.add(InfraModificationTrackersManager.from(module.getProject()).getOuterModelsModificationTracker(ConfigKind.JAVA_CONFIG));
       dependencies.add(ProjectRootManager.getInstance(module.getProject()));
       return CachedValueProvider.Result.create(List.copyOf(wiredMethods), dependencies);
     });
@@ -27,6 +27,7 @@ import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.UserDataHolder;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiArrayType;
 import com.intellij.psi.PsiClass;
@@ -63,6 +64,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import cn.taketoday.assistant.AnnotationConstant;
@@ -92,24 +94,34 @@ public abstract class EventModelUtils {
   public static Collection<PublishEventPointDescriptor> getPublishPoints(Module module, PsiType handledType) {
     PsiClass eventClass;
     boolean includeLibraries = (!(handledType instanceof PsiClassType)) || (eventClass = ((PsiClassType) handledType).resolve()) == null || ModuleUtilCore.findModuleForPsiElement(eventClass) == null;
-    return ContainerUtil.filter(getPublishPoints(module, includeLibraries), descriptor -> {
+    String handledTypeName = EventTypeIndex.getTypeName(handledType);
+    Set<String> types = handledTypeName != null ? Set.of(handledTypeName) : null;
+    Predicate<PublishEventPointDescriptor> filter = descriptor -> {
       PsiType publishType = descriptor.getEventType();
       return publishType != null && handledType.isAssignableFrom(publishType);
-    });
-  }
-
-  private static Collection<PublishEventPointDescriptor> getPublishPoints(Module module, boolean includeLibraries) {
-    List<PublishEventPointDescriptor> modulePublishPoints = CachedValuesManager.getManager(module.getProject()).getCachedValue(module, () -> {
-      List<PublishEventPointDescriptor> cacheValue = findEventPublishingPoints(module.getProject(), module, moduleNetworkScope(module));
-      return CachedValueProvider.Result.createSingleDependency(cacheValue, UastModificationTracker.getInstance(module.getProject()));
-    });
+    };
+    List<PublishEventPointDescriptor> modulePublishPoints = getModulePublishPoints(module).find(types, filter);
     if (!includeLibraries) {
       return modulePublishPoints;
     }
-    List<PublishEventPointDescriptor> libraryPublishPoints = getLibraryPublishPoints(module.getProject());
+    List<PublishEventPointDescriptor> libraryPublishPoints = getLibraryPublishPoints(module.getProject()).find(types, filter);
     return ContainerUtil.concat(libraryPublishPoints, modulePublishPoints);
   }
 
+  private static EventTypeIndex<PublishEventPointDescriptor> getModulePublishPoints(Module module) {
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, () -> {
+      List<PublishEventPointDescriptor> publishPoints = findEventPublishingPoints(module.getProject(), module, moduleNetworkScope(module));
+      var cacheValue = new EventTypeIndex<>(publishPoints, EventModelUtils::getPublishedTypeNames);
+      return CachedValueProvider.Result.createSingleDependency(cacheValue, UastModificationTracker.getInstance(module.getProject()));
+    });
+  }
+
+  @Nullable
+  private static Collection<String> getPublishedTypeNames(PublishEventPointDescriptor descriptor) {
+    PsiType publishType = descriptor.getEventType();
+    return publishType == null ? Set.of() : EventTypeIndex.getSuperTypeNames(publishType);
+  }
+
   private static GlobalSearchScope moduleNetworkScope(Module module) {
     Set<Module> moduleNetwork = new HashSet<>();
     moduleNetwork.add(module);
@@ -144,10 +156,11 @@ public abstract class EventModelUtils {
     }
   }
 
-  private static List<PublishEventPointDescriptor> getLibraryPublishPoints(Project project) {
+  private static EventTypeIndex<PublishEventPointDescriptor> getLibraryPublishPoints(Project project) {
     return CachedValuesManager.getManager(project).getCachedValue(project, () -> {
       GlobalSearchScope scope = ProjectScope.getLibrariesScope(project);
-      List<PublishEventPointDescriptor> cacheValue = findEventPublishingPoints(project, null, scope);
+      List<PublishEventPointDescriptor> publishPoints = findEventPublishingPoints(project, null, scope);
+      var cacheValue = new EventTypeIndex<>(publishPoints, EventModelUtils::getPublishedTypeNames);
       return CachedValueProvider.Result.createSingleDependency(cacheValue, ProjectRootManager.getInstance(project));
     });
   }
@@ -193,7 +206,7 @@ public abstract class EventModelUtils {
     if (!publishType.isValid()) {
       return ContainerUtil.emptyList();
     }
-    return ContainerUtil.filter(getEventListeners(project, module), listener -> {
+    return getEventListenersIndex(project, module).find(EventTypeIndex.getSuperTypeNames(publishType), listener -> {
       for (PsiType eventType : getEventListenerHandledType(listener)) {
         if (eventType.isAssignableFrom(publishType)) {
           return true;
@@ -203,6 +216,30 @@ public abstract class EventModelUtils {
     });
   }
 
+  private static EventTypeIndex<EventListenerElement> getEventListenersIndex(Project project, @Nullable Module module) {
+    UserDataHolder holder = module != null ? module : project;
+    return CachedValuesManager.getManager(project).getCachedValue(holder, () -> {
+      var cacheValue = new EventTypeIndex<>(getEventListeners(project, module), EventModelUtils::getHandledTypeNames);
+      return CachedValueProvider.Result.create(cacheValue,
+              UastModificationTracker.getInstance(project),
+              ProjectRootManager.getInstance(project)
+      );
+    });
+  }
+
+  @Nullable
+  private static Collection<String> getHandledTypeNames(EventListenerElement listener) {
+    Set<String> names = new HashSet<>();
+    for (PsiType eventType : getEventListenerHandledType(listener)) {
+      String name = EventTypeIndex.getTypeName(eventType);
+      if (name == null) {
+        return null;
+      }
+      names.add(name);
+    }
+    return names;
+  }
+
   private static List<EventListenerElement> getEventListeners(Project project, @Nullable Module module) {
     if (module != null) {
       return CachedValuesManager.getManager(project).getCachedValue(module, () -> {
@@ -0,0 +1,155 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.code.event.jam;
+
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.util.SmartList;
+import com.intellij.util.containers.ContainerUtil;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import cn.taketoday.lang.Nullable;
+import gnu.trove.TIntArrayList;
+
+/**
+ * Event listeners or publish points keyed by qualified names of event types,
+ * so only a few candidates have to be checked with {@link PsiType#isAssignableFrom(PsiType)}.
+ * Elements with event types which can't be keyed (primitives, type parameters,
+ * unresolved classes) are always candidates.
+ * <p>
+ * The index is immutable, it is built together with the cached listeners or publish points
+ * and rebuilt from scratch whenever they are recomputed.
+ *
+ * @param <T> indexed element type
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class EventTypeIndex<T> {
+
+  private final List<T> elements;
+
+  private final Map<String, TIntArrayList> byType = new HashMap<>();
+
+  private final TIntArrayList unkeyed = new TIntArrayList(0);
+
+  /**
+   * @param keys event type names of element, {@code null} if element can't be keyed
+   */
+  EventTypeIndex(List<T> elements, Function<T, Collection<String>> keys) {
+    this.elements = elements;
+    for (int i = 0; i < elements.size(); i++) {
+      Collection<String> names = keys.apply(elements.get(i));
+      if (names == null) {
+        unkeyed.add(i);
+      }
+      else {
+        for (String name : names) {
+          byType.computeIfAbsent(name, n -> new TIntArrayList(1)).add(i);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param types event type names to look up, {@code null} to check all elements
+   * @return matching elements in original order
+   */
+  List<T> find(@Nullable Collection<String> types, Predicate<T> filter) {
+    if (types == null) {
+      return ContainerUtil.filter(elements, filter::test);
+    }
+    BitSet candidates = new BitSet(elements.size());
+    add(candidates, unkeyed);
+    for (String type : types) {
+      TIntArrayList indices = byType.get(type);
+      if (indices != null) {
+        add(candidates, indices);
+      }
+    }
+    SmartList<T> result = new SmartList<>();
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      T element = elements.get(i);
+      if (filter.test(element)) {
+        result.add(element);
+      }
+    }
+    return result;
+  }
+
+  private static void add(BitSet candidates, TIntArrayList indices) {
+    for (int i = 0; i < indices.size(); i++) {
+      candidates.set(indices.getQuick(i));
+    }
+  }
+
+  /**
+   * @return qualified name of the class of given type, {@code null} if type can't be keyed
+   */
+  @Nullable
+  static String getTypeName(@Nullable PsiType type) {
+    PsiClass psiClass = resolveClass(type);
+    return psiClass != null ? psiClass.getQualifiedName() : null;
+  }
+
+  /**
+   * @return qualified names of the class of given type and all its supers,
+   * {@code null} if type can't be keyed
+   */
+  @Nullable
+  static Set<String> getSuperTypeNames(@Nullable PsiType type) {
+    PsiClass psiClass = resolveClass(type);
+    if (psiClass == null) {
+      return null;
+    }
+    Set<String> names = new HashSet<>();
+    names.add(CommonClassNames.JAVA_LANG_OBJECT);
+    InheritanceUtil.processSupers(psiClass, true, superClass -> {
+      ContainerUtil.addIfNotNull(names, superClass.getQualifiedName());
+      return true;
+    });
+    return names;
+  }
+
+  @Nullable
+  private static PsiClass resolveClass(@Nullable PsiType type) {
+    if (type instanceof PsiClassType classType) {
+      PsiClass psiClass = classType.resolve();
+      if (psiClass != null && !(psiClass instanceof PsiTypeParameter) && psiClass.getQualifiedName() != null) {
+        return psiClass;
+      }
+    }
+    return null;
+  }
+
+}
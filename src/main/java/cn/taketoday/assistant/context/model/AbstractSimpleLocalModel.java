@@ -74,7 +74,10 @@ public abstract class AbstractSimpleLocalModel<T extends PsiElement> extends Cac
 
   public static Object[] getOutsideModelDependencies(LocalModel model) {
     Project project = model.getConfig().getProject();
-    return ArrayUtil.append(InfraModificationTrackersManager.from(project).getOuterModelsDependencies(), model.getConfig());
+    Module module = model.getModule();
+    InfraModificationTrackersManager trackersManager = InfraModificationTrackersManager.from(project);
+    Object[] dependencies = module != null ? trackersManager.getOuterModelsDependencies(module) : trackersManager.getOuterModelsDependencies();
+    return ArrayUtil.append(dependencies, model.getConfig());
   }
 
   public static final class CustomDiscoveredBeansModel extends CacheableCommonInfraModel {
@@ -43,6 +43,8 @@ import cn.taketoday.assistant.model.ModelSearchParameters;
 final class BeanClassSearchInheritorsCache {
   private static final Key<CachedValue<Map<PsiClass, Collection<ModelSearchParameters.BeanClass>>>> WITHOUT_TESTS = Key.create("BeanClassSearchInheritorsCache");
   private static final Key<CachedValue<Map<PsiClass, Collection<ModelSearchParameters.BeanClass>>>> INCLUDE_TESTS = Key.create("BeanClassSearchInheritorsCache_Tests");
+  private static final String METRIC_NAME = "BeanClassSearchInheritorsCache";
+  private static final String SEARCH_METRIC_NAME = "BeanClassSearchInheritorsCache.search";
 
   public static Collection<ModelSearchParameters.BeanClass> getInheritorSearchParameters(Module module, boolean isInTestSource, ModelSearchParameters.BeanClass parameters) {
     PsiClass searchClass = PsiTypesUtil.getPsiClass(parameters.getSearchType());
@@ -54,8 +56,8 @@ final class BeanClassSearchInheritorsCache {
   }
 
   private static Map<PsiClass, Collection<ModelSearchParameters.BeanClass>> getCache(Module module, boolean isInTestSource) {
-    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, getCacheKey(isInTestSource), () -> {
-      Map<PsiClass, Collection<ModelSearchParameters.BeanClass>> map = ConcurrentFactoryMap.createMap(searchClass -> {
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, getCacheKey(isInTestSource), InfraModelMetrics.track(METRIC_NAME, module.getProject(), module, () -> {
+      Map<PsiClass, Collection<ModelSearchParameters.BeanClass>> map = ConcurrentFactoryMap.createMap(searchClass -> InfraModelMetrics.measure(SEARCH_METRIC_NAME, () -> {
         if (canSearchForInheritors(searchClass)) {
           SmartList smartList = new SmartList();
           GlobalSearchScope inheritorsSearchScope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module, isInTestSource);
@@ -69,9 +71,9 @@ final class BeanClassSearchInheritorsCache {
           return smartList.isEmpty() ? Collections.emptyList() : smartList;
         }
         return Collections.emptyList();
-      });
+      }));
       return CachedValueProvider.Result.create(map, PsiModificationTracker.MODIFICATION_COUNT);
-    }, false);
+    }), false);
   }
 
   private static Key<CachedValue<Map<PsiClass, Collection<ModelSearchParameters.BeanClass>>>> getCacheKey(boolean isInTestSource) {
@@ -21,6 +21,7 @@
 package cn.taketoday.assistant.context.model;
 
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.util.Conditions;
 import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiFile;
@@ -186,7 +187,8 @@ public abstract class CacheableCommonInfraModel extends AbstractProcessableModel
     }
     if (this.myBeanNameCachingProcessor == null) {
       this.myBeanNameCachingProcessor = CachedValuesManager.getManager(module.getProject()).createCachedValue(
-              () -> CachedValueProvider.Result.create(new LocalBeansByNameCachingProcessor(), getCachingProcessorsDependencies()));
+              InfraModelMetrics.track(getClass().getSimpleName() + ".byNameProcessor", module.getProject(),
+                      () -> CachedValueProvider.Result.create(new LocalBeansByNameCachingProcessor(), getCachingProcessorsDependencies())));
     }
     return this.myBeanNameCachingProcessor;
   }
@@ -197,9 +199,10 @@ public abstract class CacheableCommonInfraModel extends AbstractProcessableModel
       return null;
     }
     if (this.myByClassCachingProcessor == null) {
-      this.myByClassCachingProcessor = CachedValuesManager.getManager(module.getProject()).createCachedValue(() -> {
-        return CachedValueProvider.Result.create(new LocalBeansByClassCachingProcessor(), getCachingProcessorsDependencies());
-      });
+      this.myByClassCachingProcessor = CachedValuesManager.getManager(module.getProject()).createCachedValue(
+              InfraModelMetrics.track(getClass().getSimpleName() + ".byClassProcessor", module.getProject(), () -> {
+                return CachedValueProvider.Result.create(new LocalBeansByClassCachingProcessor(), getCachingProcessorsDependencies());
+              }));
     }
     return this.myByClassCachingProcessor;
   }
@@ -208,7 +211,20 @@ public abstract class CacheableCommonInfraModel extends AbstractProcessableModel
     return Collections.singleton(ModificationTracker.EVER_CHANGED);
   }
 
+  /**
+   * @return size of by-name and by-class caches, configurable per model type
+   * @see InfraCachingProcessor#getConfiguredCacheSize(String)
+   */
+  protected int getCachingProcessorsCacheSize() {
+    return InfraCachingProcessor.getConfiguredCacheSize(getClass().getSimpleName());
+  }
+
   private abstract static class LocalBeansCachingProcessor<InParams extends ModelSearchParameters> extends InfraCachingProcessor<InParams> {
+
+    protected LocalBeansCachingProcessor(String metricName, int cacheSize) {
+      super(metricName, cacheSize, Conditions.alwaysTrue());
+    }
+
     protected abstract void doProcessBeans(InParams inparams, Processor<BeanPointer<?>> processor);
 
     @Override
@@ -232,6 +248,11 @@ public abstract class CacheableCommonInfraModel extends AbstractProcessableModel
 
   public class LocalBeansByNameCachingProcessor extends LocalBeansCachingProcessor<ModelSearchParameters.BeanName> {
 
+    private LocalBeansByNameCachingProcessor() {
+      super(CacheableCommonInfraModel.this.getClass().getSimpleName() + ".byName",
+              CacheableCommonInfraModel.this.getCachingProcessorsCacheSize());
+    }
+
     @Override
     protected void doProcessBeans(ModelSearchParameters.BeanName beanName, Processor processor) {
       doProcessBeans2(beanName, (Processor<BeanPointer<?>>) processor);
@@ -245,6 +266,8 @@ public abstract class CacheableCommonInfraModel extends AbstractProcessableModel
   public class LocalBeansByClassCachingProcessor extends LocalBeansCachingProcessor<ModelSearchParameters.BeanClass> {
 
     private LocalBeansByClassCachingProcessor() {
+      super(CacheableCommonInfraModel.this.getClass().getSimpleName() + ".byClass",
+              CacheableCommonInfraModel.this.getCachingProcessorsCacheSize());
     }
 
     @Override
@@ -260,7 +283,8 @@ public abstract class CacheableCommonInfraModel extends AbstractProcessableModel
   public Object[] getDependencies(Set<PsiFile> containingFiles) {
     Set<Object> dependencies = new LinkedHashSet<>();
     ContainerUtil.addAllNotNull(dependencies, containingFiles);
-    ContainerUtil.addAll(dependencies, InfraModificationTrackersManager.from(getModule().getProject()).getOuterModelsDependencies());
+    Module module = getModule();
+    ContainerUtil.addAll(dependencies, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
     return ArrayUtil.toObjectArray(dependencies);
   }
 
@@ -21,19 +21,36 @@
 package cn.taketoday.assistant.context.model;
 
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.util.RecursionGuard;
+import com.intellij.openapi.util.RecursionManager;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.ArrayUtil;
+import com.intellij.util.Processor;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import cn.taketoday.assistant.CommonInfraModel;
+import cn.taketoday.assistant.InfraModificationTrackersManager;
 import cn.taketoday.assistant.context.model.visitors.InfraModelVisitorContext;
 import cn.taketoday.assistant.context.model.visitors.InfraModelVisitors;
 import cn.taketoday.assistant.facet.InfraFileSet;
+import cn.taketoday.assistant.model.BeanPointer;
+import cn.taketoday.assistant.model.ModelSearchParameters;
 import cn.taketoday.lang.Nullable;
 
 public class CombinedInfraModelImpl extends InfraModel implements CombinedInfraModel {
+  private static final RecursionGuard<CombinedInfraModelImpl> CLOSURE_GUARD = RecursionManager.createGuard("CombinedInfraModel.closure");
+
   private final Set<CommonInfraModel> myModels;
 
+  @Nullable
+  private volatile CachedValue<InfraModelClosure> myClosure;
+
   public CombinedInfraModelImpl(Set<? extends CommonInfraModel> models, @Nullable Module module) {
     super(module);
     this.myModels = new LinkedHashSet<>(models.size());
@@ -59,6 +76,64 @@ public class CombinedInfraModelImpl extends InfraModel implements CombinedInfraM
     return models;
   }
 
+  @Override
+  public void setDependencies(Set<InfraModel> dependencies) {
+    super.setDependencies(dependencies);
+    this.myClosure = null;
+  }
+
+  /**
+   * @return all models reachable from this one, flattened in visiting order,
+   * or {@code null} if not available (no module or requested while being computed)
+   */
+  @Nullable
+  public List<CommonInfraModel> getModelsClosure() {
+    InfraModelClosure closure = getClosure();
+    return closure != null ? closure.getModels() : null;
+  }
+
+  @Nullable
+  private InfraModelClosure getClosure() {
+    Module module = getModule();
+    if (module == null || module.isDisposed()) {
+      return null;
+    }
+    CachedValue<InfraModelClosure> closure = this.myClosure;
+    if (closure == null) {
+      // bean lookups of related models may change on any PSI change, not only with this model
+      closure = CachedValuesManager.getManager(module.getProject()).createCachedValue(
+              InfraModelMetrics.track("CombinedInfraModel.closure", module.getProject(), () -> CachedValueProvider.Result.create(
+                      new InfraModelClosure(this), ArrayUtil.append(InfraModificationTrackersManager.from(module.getProject())
+                              .getOuterModelsDependencies(module), PsiModificationTracker.MODIFICATION_COUNT))));
+      this.myClosure = closure;
+    }
+    return CLOSURE_GUARD.doPreventingRecursion(this, false, closure::getValue);
+  }
+
+  @Override
+  public boolean processByName(ModelSearchParameters.BeanName params, Processor<? super BeanPointer<?>> processor) {
+    if (!params.canSearch()) {
+      return true;
+    }
+    InfraModelClosure closure = InfraModelVisitorContext.isVisiting(processor) ? null : getClosure();
+    return closure != null ? closure.processByName(params, processor) : super.processByName(params, processor);
+  }
+
+  @Override
+  public boolean processByClass(ModelSearchParameters.BeanClass params, Processor<? super BeanPointer<?>> processor) {
+    if (!params.canSearch()) {
+      return true;
+    }
+    InfraModelClosure closure = InfraModelVisitorContext.isVisiting(processor) ? null : getClosure();
+    return closure != null ? closure.processByClass(params, processor) : super.processByClass(params, processor);
+  }
+
+  @Override
+  public boolean processAllBeans(Processor<? super BeanPointer<?>> processor) {
+    InfraModelClosure closure = InfraModelVisitorContext.isVisiting(processor) ? null : getClosure();
+    return closure != null ? closure.processAllBeans(processor) : super.processAllBeans(processor);
+  }
+
   @Override
   @Nullable
   public Set<String> getActiveProfiles() {
@@ -32,6 +32,7 @@ import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.util.NotNullFunction;
 import com.intellij.util.SmartList;
 import com.intellij.util.containers.ConcurrentFactoryMap;
+import com.intellij.util.containers.ContainerUtil;
 
 import org.jetbrains.annotations.TestOnly;
 
@@ -131,10 +132,16 @@ public class ComponentScanPackagesModel extends CacheableCommonInfraModel {
           @Nullable Set<String> profiles, boolean useDefaultFilters,
           Set<InfraContextFilter.Exclude> excludeContextFilters,
           Set<InfraContextFilter.Include> includeContextFilters) {
-    Collection<CommonInfraBean> components = getScannedComponents(
-            scope -> InfraJamModel.from(module).getStereotypeComponents(scope),
-            packages, module, profiles, useDefaultFilters, excludeContextFilters, includeContextFilters);
-    return InfraBeanService.of().mapBeans(components);
+    if (module.isDisposed() || packages.isEmpty()) {
+      return new SmartList<>();
+    }
+    checkDefaultPackage(packages);
+    // stereotypes of the module are looked up by package prefix instead of a search per annotation
+    List<String> packageNames = ContainerUtil.map(packages, PsiPackage::getQualifiedName);
+    List<InfraStereotypeElement> allComponents = InfraJamModel.from(module).getStereotypeComponents(packageNames);
+    Set<CommonInfraBean> filteredBeans = InfraJamService.of()
+            .filterComponentScannedStereotypes(module, allComponents, packages, useDefaultFilters, excludeContextFilters, includeContextFilters);
+    return InfraBeanService.of().mapBeans(ProfileUtils.filterBeansInActiveProfiles(filteredBeans, profiles));
   }
 
   public static <T extends InfraStereotypeElement> List<CommonInfraBean> getScannedComponents(
@@ -146,13 +153,9 @@ public class ComponentScanPackagesModel extends CacheableCommonInfraModel {
     if (module.isDisposed() || packages.isEmpty()) {
       return new SmartList<>();
     }
+    checkDefaultPackage(packages);
     GlobalSearchScope[] scopes = packages.stream()
-            .peek(psiPackage -> {
-              if (psiPackage.getQualifiedName().isEmpty() && ApplicationManager.getApplication().isUnitTestMode() && !ourAllowDefaultPackageForTests) {
-                throw new IllegalArgumentException("Do not use component-scan with <default> package in tests");
-              }
-            })
-            .map(psiPackage2 -> PackageScope.packageScope(psiPackage2, true))
+            .map(psiPackage -> PackageScope.packageScope(psiPackage, true))
             .toArray(GlobalSearchScope[]::new);
 
     GlobalSearchScope allPackagesUnionScope = GlobalSearchScope.union(scopes);
@@ -164,6 +167,16 @@ public class ComponentScanPackagesModel extends CacheableCommonInfraModel {
     return ProfileUtils.filterBeansInActiveProfiles(filteredBeans, profiles);
   }
 
+  private static void checkDefaultPackage(Set<PsiPackage> packages) {
+    if (ApplicationManager.getApplication().isUnitTestMode() && !ourAllowDefaultPackageForTests) {
+      for (PsiPackage psiPackage : packages) {
+        if (psiPackage.getQualifiedName().isEmpty()) {
+          throw new IllegalArgumentException("Do not use component-scan with <default> package in tests");
+        }
+      }
+    }
+  }
+
   @TestOnly
   public static void setAllowDefaultPackageForTests(boolean value) {
     ourAllowDefaultPackageForTests = value;
@@ -23,10 +23,10 @@ package cn.taketoday.assistant.context.model;
 import com.intellij.openapi.util.Condition;
 import com.intellij.openapi.util.Conditions;
 import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.util.CommonProcessors;
 import com.intellij.util.Processor;
 import com.intellij.util.SystemProperties;
-import com.intellij.util.containers.ContainerUtil;
 
 import java.util.Collection;
 import java.util.Set;
@@ -34,6 +34,7 @@ import java.util.Set;
 import cn.taketoday.assistant.model.BeanPointer;
 import cn.taketoday.assistant.model.ModelSearchParameters;
 import cn.taketoday.assistant.model.utils.ProfileUtils;
+import cn.taketoday.assistant.profiles.ActiveProfiles;
 import cn.taketoday.lang.Nullable;
 
 public abstract class InfraCachingProcessor<InParams extends ModelSearchParameters> {
@@ -49,7 +50,17 @@ public abstract class InfraCachingProcessor<InParams extends ModelSearchParamete
   }
 
   protected InfraCachingProcessor(Condition<? super InParams> keyValidityCheck) {
-    myFindAllCache = new InfraSizeLimitedCache<>(CONFIGURED_CACHE_SIZE, keyValidityCheck) {
+    this(null, CONFIGURED_CACHE_SIZE, keyValidityCheck);
+  }
+
+  /**
+   * @param metricName name of {@link InfraModelMetrics} caches are reported to, class name by default
+   */
+  protected InfraCachingProcessor(@Nullable String metricName, int cacheSize, Condition<? super InParams> keyValidityCheck) {
+    if (metricName == null) {
+      metricName = getClass().getSimpleName().isEmpty() ? StringUtil.getShortName(getClass().getName()) : getClass().getSimpleName();
+    }
+    myFindAllCache = new InfraSizeLimitedCache<>(cacheSize, keyValidityCheck, InfraModelMetrics.get(metricName + ".findAll")) {
 
       @Override
       protected Collection<BeanPointer<?>> createValue(InParams key) {
@@ -57,7 +68,7 @@ public abstract class InfraCachingProcessor<InParams extends ModelSearchParamete
       }
     };
 
-    myFindFirstCache = new InfraSizeLimitedCache<>(CONFIGURED_CACHE_SIZE, keyValidityCheck) {
+    myFindFirstCache = new InfraSizeLimitedCache<>(cacheSize, keyValidityCheck, InfraModelMetrics.get(metricName + ".findFirst")) {
 
       @Override
       protected Ref<BeanPointer<?>> createValue(InParams key) {
@@ -66,6 +77,15 @@ public abstract class InfraCachingProcessor<InParams extends ModelSearchParamete
     };
   }
 
+  /**
+   * Returns cache size for given model type, configured with
+   * {@code idea.infra.model.processing.cache.size.<modelType>} system property.
+   * Falls back to {@code idea.infra.model.processing.cache.size}.
+   */
+  public static int getConfiguredCacheSize(String modelType) {
+    return SystemProperties.getIntProperty(CACHE_SIZE_PROPERTY_NAME + "." + modelType, CONFIGURED_CACHE_SIZE);
+  }
+
   protected abstract Collection<BeanPointer<?>> findPointers(InParams parameters);
 
   @Nullable
@@ -74,13 +94,15 @@ public abstract class InfraCachingProcessor<InParams extends ModelSearchParamete
   public boolean process(InParams params,
           Processor<? super BeanPointer<?>> processor,
           Set<String> activeProfiles) {
+    // converted once for all pointers
+    ActiveProfiles profiles = ActiveProfiles.of(activeProfiles);
     if (processor instanceof CommonProcessors.FindFirstProcessor && myFindAllCache.getCachedValue(params) == null) {
       BeanPointer<?> first = myFindFirstCache.get(params).get();
-      return processBeansInActiveProfile(processor, first, activeProfiles);
+      return processBeansInActiveProfile(processor, first, profiles);
     }
 
     for (BeanPointer pointer : myFindAllCache.get(params)) {
-      if (!processBeansInActiveProfile(processor, pointer, activeProfiles))
+      if (!processBeansInActiveProfile(processor, pointer, profiles))
         return false;
     }
     return true;
@@ -88,10 +110,10 @@ public abstract class InfraCachingProcessor<InParams extends ModelSearchParamete
 
   private static boolean processBeansInActiveProfile(
           Processor<? super BeanPointer<?>> processor,
-          @Nullable BeanPointer<?> pointer, Set<String> activeProfiles) {
+          @Nullable BeanPointer<?> pointer, ActiveProfiles activeProfiles) {
     if (pointer == null)
       return true;
-    if (ContainerUtil.isEmpty(activeProfiles))
+    if (activeProfiles.isEmptyOrTestDefault())
       return processor.process(pointer);
 
     if (!ProfileUtils.isInActiveProfiles(pointer.getBean(), activeProfiles))
@@ -46,6 +46,10 @@ abstract class InfraExecutorsQueryCachingProcessor<InParams extends ModelSearchP
     super(keyValidityCheck);
   }
 
+  public InfraExecutorsQueryCachingProcessor(@Nullable String metricName, int cacheSize, Condition<? super InParams> keyValidityCheck) {
+    super(metricName, cacheSize, keyValidityCheck);
+  }
+
   @Override
   protected Collection<BeanPointer<?>> findPointers(InParams parameters) {
     ExecutorsQuery<BeanPointer<?>, OutParams> query = createQuery(parameters);
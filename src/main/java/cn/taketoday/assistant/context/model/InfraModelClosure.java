@@ -0,0 +1,175 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.context.model;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Conditions;
+import com.intellij.util.Processor;
+import com.intellij.util.Processors;
+import com.intellij.util.SmartList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import cn.taketoday.assistant.CommonInfraModel;
+import cn.taketoday.assistant.model.BeanPointer;
+import cn.taketoday.assistant.model.ModelSearchParameters;
+
+/**
+ * All models reachable from a combined model, deduplicated and flattened in visiting order,
+ * with merged by-name and by-class lookup results of their local beans kept in size-limited caches.
+ * Lookups are computed outside of cache locks, so re-entrant lookups from resolvers are allowed.
+ * <p>
+ * Valid for one version of the combined model, see {@link CombinedInfraModelImpl#getModelsClosure()}.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class InfraModelClosure {
+
+  private final List<CommonInfraModel> models;
+
+  private final List<CommonInfraModel> modelsByClass;
+
+  private static final int CACHE_SIZE = InfraCachingProcessor.getConfiguredCacheSize("closure");
+
+  private final InfraSizeLimitedCache<ModelSearchParameters.BeanName, List<BeanPointer<?>>> byName =
+          new InfraSizeLimitedCache<>(CACHE_SIZE, Conditions.alwaysTrue()) {
+            @Override
+            protected List<BeanPointer<?>> createValue(ModelSearchParameters.BeanName params) {
+              return findByName(params);
+            }
+          };
+
+  private final InfraSizeLimitedCache<ModelSearchParameters.BeanClass, List<BeanPointer<?>>> byClass =
+          new InfraSizeLimitedCache<>(CACHE_SIZE, Conditions.alwaysTrue()) {
+            @Override
+            protected List<BeanPointer<?>> createValue(ModelSearchParameters.BeanClass params) {
+              return findByClass(params);
+            }
+          };
+
+  InfraModelClosure(CommonInfraModel root) {
+    this.models = collect(root, false);
+    this.modelsByClass = collect(root, true);
+  }
+
+  private static List<CommonInfraModel> collect(CommonInfraModel root, boolean byClass) {
+    Set<CommonInfraModel> visited = new LinkedHashSet<>();
+    visited.add(root);
+    collect(root, visited, byClass);
+    visited.remove(root);
+    return Collections.unmodifiableList(new ArrayList<>(visited));
+  }
+
+  /**
+   * @param byClass whether models not processing their related models by class are not descended,
+   * see {@link LocalXmlModelImpl#processByClass}
+   */
+  private static void collect(CommonInfraModel model, Set<CommonInfraModel> visited, boolean byClass) {
+    if (byClass && model instanceof LocalXmlModelImpl xmlModel && !xmlModel.canProcessBeans()) {
+      return;
+    }
+    for (CommonInfraModel related : model.getRelatedModels()) {
+      ProgressManager.checkCanceled();
+      if (visited.add(related)) {
+        collect(related, visited, byClass);
+      }
+    }
+  }
+
+  /**
+   * @return reachable models in the order {@link cn.taketoday.assistant.context.model.visitors.InfraModelVisitors} visits them,
+   * without the root model
+   */
+  List<CommonInfraModel> getModels() {
+    return models;
+  }
+
+  boolean processByName(ModelSearchParameters.BeanName params, Processor<? super BeanPointer<?>> processor) {
+    return process(byName.get(params), processor);
+  }
+
+  boolean processByClass(ModelSearchParameters.BeanClass params, Processor<? super BeanPointer<?>> processor) {
+    return process(byClass.get(params), processor);
+  }
+
+  boolean processAllBeans(Processor<? super BeanPointer<?>> processor) {
+    for (CommonInfraModel model : models) {
+      ProgressManager.checkCanceled();
+      if (model instanceof CacheableCommonInfraModel cacheable) {
+        for (BeanPointer<?> pointer : cacheable.getLocalBeans()) {
+          if (!processor.process(pointer)) {
+            return false;
+          }
+        }
+      }
+      else if (!(model instanceof AbstractProcessableModel) && !model.processAllBeans(processor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Models only delegating to their related models are skipped, those are part of the closure.
+   */
+  private List<BeanPointer<?>> findByName(ModelSearchParameters.BeanName params) {
+    List<BeanPointer<?>> result = new SmartList<>();
+    Processor<BeanPointer<?>> collector = Processors.cancelableCollectProcessor(result);
+    for (CommonInfraModel model : models) {
+      if (model instanceof CacheableCommonInfraModel cacheable) {
+        cacheable.processLocalBeansByName(params, collector);
+      }
+      else if (!(model instanceof AbstractProcessableModel)) {
+        model.processByName(params, collector);
+      }
+    }
+    return result.isEmpty() ? Collections.emptyList() : result;
+  }
+
+  private List<BeanPointer<?>> findByClass(ModelSearchParameters.BeanClass params) {
+    List<BeanPointer<?>> result = new SmartList<>();
+    Processor<BeanPointer<?>> collector = Processors.cancelableCollectProcessor(result);
+    for (CommonInfraModel model : modelsByClass) {
+      if (model instanceof CacheableCommonInfraModel cacheable) {
+        cacheable.processLocalBeansByClass(params, collector);
+      }
+      else if (!(model instanceof AbstractProcessableModel)) {
+        model.processByClass(params, collector);
+      }
+    }
+    return result.isEmpty() ? Collections.emptyList() : result;
+  }
+
+  private static boolean process(List<BeanPointer<?>> pointers, Processor<? super BeanPointer<?>> processor) {
+    for (BeanPointer<?> pointer : pointers) {
+      if (!processor.process(pointer)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.context.model;
+
+import com.google.gson.GsonBuilder;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.containers.CollectionFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Counters and latency histograms of model caches, including recompute causes
+ * of cached values, to find out which caches are recomputed too often.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class InfraModelMetrics {
+  private static final long[] BUCKET_BOUNDS_MS = { 1, 4, 16, 64, 256, 1024, 4096 };
+
+  private static final String INITIAL = "initial";
+  private static final String UNKNOWN = "collected or untracked";
+  private static final String TRACKING_KEY = "infra.model.metrics.tracking";
+
+  private static final ConcurrentHashMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+  private InfraModelMetrics() {
+  }
+
+  public static Metric get(String name) {
+    return metrics.computeIfAbsent(name, Metric::new);
+  }
+
+  public static <T> T measure(String name, Supplier<T> computation) {
+    long start = System.nanoTime();
+    try {
+      return computation.get();
+    }
+    finally {
+      get(name).recordComputation(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * @return provider recording computation time and the dependency which caused recomputation,
+   * or given provider itself if tracking is disabled
+   */
+  public static <T> CachedValueProvider<T> track(String name, Project project, CachedValueProvider<T> provider) {
+    return isTrackingEnabled() ? new TrackingProvider<>(get(name), project, null, provider) : provider;
+  }
+
+  /**
+   * Same as {@link #track(String, Project, CachedValueProvider)} for providers created on each request,
+   * recompute causes are tracked per given owner of the cached value.
+   */
+  public static <T> CachedValueProvider<T> track(String name, Project project, Object owner, CachedValueProvider<T> provider) {
+    return isTrackingEnabled() ? new TrackingProvider<>(get(name), project, owner, provider) : provider;
+  }
+
+  private static boolean isTrackingEnabled() {
+    return Registry.is(TRACKING_KEY, false);
+  }
+
+  public static void reset() {
+    metrics.clear();
+  }
+
+  public static String toJson() {
+    List<Map<String, Object>> result = new ArrayList<>();
+    List<Metric> sorted = new ArrayList<>(metrics.values());
+    sorted.sort(Comparator.comparing(metric -> metric.name));
+    for (Metric metric : sorted) {
+      result.add(metric.toMap());
+    }
+    return new GsonBuilder().setPrettyPrinting().create().toJson(result);
+  }
+
+  public static final class Metric {
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] histogram = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+    private final ConcurrentHashMap<String, LongAdder> causes = new ConcurrentHashMap<>();
+    private final Map<Object, Snapshot> snapshots = CollectionFactory.createConcurrentWeakIdentityMap();
+
+    /**
+     * Whether a cache reports its hits, cached values computed by tracked providers don't.
+     */
+    private volatile boolean hasHitSource;
+
+    private Metric(String name) {
+      this.name = name;
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i] = new LongAdder();
+      }
+    }
+
+    /**
+     * Marks this metric as reporting hits and evictions of a cache,
+     * only then they are included in the report.
+     */
+    void setHitSource() {
+      hasHitSource = true;
+    }
+
+    public void recordHit() {
+      hits.increment();
+    }
+
+    public void recordEvictions(int count) {
+      evictions.add(count);
+    }
+
+    public void recordComputation(long nanos) {
+      computations.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+      int bucket = 0;
+      while (bucket < BUCKET_BOUNDS_MS.length && millis >= BUCKET_BOUNDS_MS[bucket]) {
+        bucket++;
+      }
+      histogram[bucket].increment();
+    }
+
+    public void recordCause(String cause) {
+      causes.computeIfAbsent(cause, c -> new LongAdder()).increment();
+    }
+
+    private Map<String, Object> toMap() {
+      long computed = computations.sum();
+      long hit = hits.sum();
+      Map<String, Object> map = new LinkedHashMap<>();
+      map.put("name", name);
+      map.put("computations", computed);
+      if (hasHitSource) {
+        map.put("hits", hit);
+        map.put("hitRate", hit + computed == 0 ? 0 : (double) hit / (hit + computed));
+        map.put("evictions", evictions.sum());
+      }
+      map.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+      map.put("averageMillis", computed == 0 ? 0 : (double) totalNanos.sum() / computed / 1_000_000);
+      map.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+      Map<String, Long> buckets = new LinkedHashMap<>();
+      for (int i = 0; i < histogram.length; i++) {
+        String bucket = i < BUCKET_BOUNDS_MS.length ? "<" + BUCKET_BOUNDS_MS[i] + "ms" : ">=" + BUCKET_BOUNDS_MS[i - 1] + "ms";
+        buckets.put(bucket, histogram[i].sum());
+      }
+      map.put("latency", buckets);
+      Map<String, Long> recomputeCauses = new TreeMap<>();
+      causes.forEach((cause, count) -> recomputeCauses.put(cause, count.sum()));
+      map.put("recomputeCauses", recomputeCauses);
+      return map;
+    }
+  }
+
+  private static final class TrackingProvider<T> implements CachedValueProvider<T> {
+    private final Metric metric;
+    private final Project project;
+    private final Object owner;
+    private final CachedValueProvider<T> delegate;
+
+    TrackingProvider(Metric metric, Project project, @Nullable Object owner, CachedValueProvider<T> delegate) {
+      this.metric = metric;
+      this.project = project;
+      this.owner = owner != null ? owner : this;
+      this.delegate = delegate;
+    }
+
+    @Nullable
+    @Override
+    public Result<T> compute() {
+      long start = System.nanoTime();
+      Result<T> result = delegate.compute();
+      metric.recordComputation(System.nanoTime() - start);
+      if (result != null) {
+        Snapshot snapshot = new Snapshot(project, result.getDependencyItems());
+        Snapshot last = metric.snapshots.put(owner, snapshot);
+        metric.recordCause(last == null ? INITIAL : snapshot.getChangedDependency(last));
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Only stamps and names of dependencies, dependency objects themselves may reference the owner.
+   */
+  private static final class Snapshot {
+    private final String[] names;
+    private final long[] stamps;
+
+    Snapshot(Project project, Object[] dependencies) {
+      this.names = new String[dependencies.length];
+      this.stamps = new long[dependencies.length];
+      for (int i = 0; i < dependencies.length; i++) {
+        names[i] = getName(dependencies[i]);
+        stamps[i] = getStamp(project, dependencies[i]);
+      }
+    }
+
+    String getChangedDependency(Snapshot previous) {
+      if (previous.names.length == names.length) {
+        for (int i = 0; i < names.length; i++) {
+          if (stamps[i] != previous.stamps[i]) {
+            return names[i];
+          }
+        }
+      }
+      return UNKNOWN;
+    }
+
+    private static long getStamp(Project project, Object dependency) {
+      if (dependency == PsiModificationTracker.MODIFICATION_COUNT) {
+        return PsiModificationTracker.getInstance(project).getModificationCount();
+      }
+      if (dependency instanceof ModificationTracker tracker) {
+        return tracker.getModificationCount();
+      }
+      if (dependency instanceof PsiFile file) {
+        return file.getModificationStamp();
+      }
+      if (dependency instanceof PsiElement element) {
+        PsiFile file = element.isValid() ? element.getContainingFile() : null;
+        return file != null ? file.getModificationStamp() : -1;
+      }
+      if (dependency instanceof VirtualFile file) {
+        return file.getModificationStamp();
+      }
+      return -1;
+    }
+
+    private static String getName(Object dependency) {
+      if (dependency == PsiModificationTracker.MODIFICATION_COUNT) {
+        return "PsiModificationTracker.MODIFICATION_COUNT";
+      }
+      if (dependency instanceof PsiFile file) {
+        return "PsiFile " + file.getName();
+      }
+      if (dependency instanceof PsiElement) {
+        return "PsiElement";
+      }
+      if (dependency instanceof VirtualFile) {
+        return "VirtualFile";
+      }
+      Class<?> type = dependency.getClass();
+      return type.getSimpleName().isEmpty() ? StringUtil.getShortName(type.getName()) : type.getSimpleName();
+    }
+  }
+
+}
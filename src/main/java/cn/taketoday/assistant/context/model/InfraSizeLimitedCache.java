@@ -21,31 +21,61 @@
 package cn.taketoday.assistant.context.model;
 
 import com.intellij.openapi.util.Condition;
-import com.intellij.util.containers.hash.LinkedHashMap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import cn.taketoday.lang.Nullable;
 
+/**
+ * Bounded cache split into independently locked LRU segments, so concurrent
+ * highlighting passes do not contend on a single monitor.
+ * <p>
+ * When a segment is full, entries with invalid keys of that segment are
+ * evicted first, then the least recently used one.
+ */
 public abstract class InfraSizeLimitedCache<K, V> {
-  protected final LinkedHashMap<K, V> myQueue;
+  private static final int MAX_SEGMENTS = 8;
+  private static final int MIN_SEGMENT_SIZE = 8;
 
-  private final Condition<? super K> myKeyValidityCheck;
-  private final int myMaxQueueSize;
-  private final Object myLock;
+  private final Segment<K, V>[] mySegments;
+
+  @Nullable
+  private final InfraModelMetrics.Metric myMetric;
 
   protected abstract V createValue(K k);
 
   public InfraSizeLimitedCache(int maxQueueSize, Condition<? super K> keyValidityCheck) {
-    this.myLock = new Object();
-    this.myQueue = new LinkedHashMap<>(10, 0.6f);
-    this.myKeyValidityCheck = keyValidityCheck;
-    this.myMaxQueueSize = maxQueueSize;
+    this(maxQueueSize, keyValidityCheck, null);
+  }
+
+  /**
+   * @param metric also records hits, computation times and evictions of this cache
+   */
+  @SuppressWarnings("unchecked")
+  public InfraSizeLimitedCache(int maxQueueSize, Condition<? super K> keyValidityCheck, @Nullable InfraModelMetrics.Metric metric) {
+    this.myMetric = metric;
+    if (metric != null) {
+      metric.setHitSource();
+    }
+    int maxSize = Math.max(1, maxQueueSize);
+    int segmentsCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE)));
+    int segmentSize = (maxSize + segmentsCount - 1) / segmentsCount;
+
+    this.mySegments = new Segment[segmentsCount];
+    for (int i = 0; i < segmentsCount; i++) {
+      mySegments[i] = new Segment<>(segmentSize, keyValidityCheck);
+    }
   }
 
   @Nullable
   public V getCachedValue(K key) {
-    V value;
-    synchronized(this.myLock) {
-      value = this.myQueue.get(key);
+    V value = segmentFor(key).get(key);
+    if (value != null) {
+      if (myMetric != null) {
+        myMetric.recordHit();
+      }
     }
     return value;
   }
@@ -55,27 +85,99 @@ public abstract class InfraSizeLimitedCache<K, V> {
     if (value != null) {
       return value;
     }
+    long start = System.nanoTime();
     V newValue = createValue(key);
-    synchronized(this.myLock) {
-      if (this.myQueue.size() >= this.myMaxQueueSize) {
-        if (containsInvalidKeys()) {
-          this.myQueue.clear();
-        }
-        if (this.myQueue.remove(this.myQueue.getFirstKey()) == null) {
-          this.myQueue.clear();
-        }
-      }
-      this.myQueue.put(key, newValue);
+    int evicted = segmentFor(key).put(key, newValue);
+    if (myMetric != null) {
+      myMetric.recordComputation(System.nanoTime() - start);
+      myMetric.recordEvictions(evicted);
     }
     return newValue;
   }
 
-  private boolean containsInvalidKeys() {
-    for (K obj : this.myQueue.keySet()) {
-      if (!this.myKeyValidityCheck.value(obj)) {
-        return true;
+  /**
+   * Removes single entry, other entries stay cached.
+   */
+  public void invalidate(K key) {
+    segmentFor(key).remove(key);
+  }
+
+  public void clear() {
+    for (Segment<K, V> segment : mySegments) {
+      segment.clear();
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : mySegments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    int hash = key.hashCode();
+    hash ^= (hash >>> 16);
+    return mySegments[hash & (mySegments.length - 1)];
+  }
+
+  private static final class Segment<K, V> {
+    private final LinkedHashMap<K, V> myMap;
+    private final int myMaxSize;
+    private final Condition<? super K> myKeyValidityCheck;
+
+    Segment(int maxSize, Condition<? super K> keyValidityCheck) {
+      this.myMaxSize = maxSize;
+      this.myMap = new LinkedHashMap<>(Math.min(maxSize, 16), 0.75f, true);
+      this.myKeyValidityCheck = keyValidityCheck;
+    }
+
+    @Nullable
+    synchronized V get(K key) {
+      return myMap.get(key);
+    }
+
+    /**
+     * @return number of evicted entries
+     */
+    synchronized int put(K key, V value) {
+      int evicted = 0;
+      if (myMap.size() >= myMaxSize && !myMap.containsKey(key)) {
+        evicted = removeInvalidKeys();
+        if (myMap.size() >= myMaxSize) {
+          Iterator<K> iterator = myMap.keySet().iterator();
+          iterator.next();
+          iterator.remove();
+          evicted++;
+        }
+      }
+      myMap.put(key, value);
+      return evicted;
+    }
+
+    synchronized void remove(K key) {
+      myMap.remove(key);
+    }
+
+    synchronized void clear() {
+      myMap.clear();
+    }
+
+    synchronized int size() {
+      return myMap.size();
+    }
+
+    private int removeInvalidKeys() {
+      int removed = 0;
+      Iterator<Map.Entry<K, V>> iterator = myMap.entrySet().iterator();
+      while (iterator.hasNext()) {
+        if (!myKeyValidityCheck.value(iterator.next().getKey())) {
+          iterator.remove();
+          removed++;
+        }
       }
+      return removed;
     }
-    return false;
   }
 }
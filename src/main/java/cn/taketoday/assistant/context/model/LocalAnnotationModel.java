@@ -324,7 +324,7 @@ public class LocalAnnotationModel extends AbstractSimpleLocalModel<PsiClass> {
   @Override
   protected Collection<Object> getCachingProcessorsDependencies() {
     Collection<Object> dependencies = new HashSet<>();
-    Collections.addAll(dependencies, InfraModificationTrackersManager.from(this.myClass.getProject()).getOuterModelsDependencies());
+    Collections.addAll(dependencies, InfraModificationTrackersManager.from(this.myClass.getProject()).getOuterModelsDependencies(getModule()));
     Collections.addAll(dependencies, Arrays.stream(this.myClass.getSupers()).map(PsiElement::getContainingFile)
             .filter(psiFile -> psiFile != null && !(psiFile instanceof ClsFileImpl)).toArray());
     return dependencies;
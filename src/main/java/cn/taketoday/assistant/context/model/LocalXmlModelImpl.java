@@ -134,34 +134,34 @@ public class LocalXmlModelImpl extends LocalXmlModel {
       return !canProcessBeans() ? Collections.emptyList() : indexProcessor.getCustomBeanCandidates(key);
     });
     this.localBeansByQualifier = ConcurrentFactoryMap.createMap(key2 -> findLocalBeansByQualifier(this, key2));
-    this.scannedModels = CachedValuesManager.getManager(this.module.getProject()).createCachedValue(() -> {
+    this.scannedModels = CachedValuesManager.getManager(this.module.getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.scannedModels", getProject(), () -> {
       return CachedValueProvider.Result.create(getPackagesScans(this.activeProfiles).stream().map(scan -> {
         return new InfraComponentScanModel<>(this.module, scan, this.activeProfiles);
       }).collect(Collectors.toSet()), getOutsideModelDependencies(this));
-    }, false);
-    this.placeholders = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.placeholders = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.placeholders", getProject(), () -> {
       return CachedValueProvider.Result.create(computePlaceholders(), getOutsideModelDependencies(this));
-    }, false);
-    this.profiles = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.profiles = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.profiles", getProject(), () -> {
       return CachedValueProvider.Result.create(computeProfiles(), getOutsideModelDependencies(this));
-    }, false);
-    this.annotationConfigApplicationContexts = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.annotationConfigApplicationContexts = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.annotationConfigApplicationContexts", getProject(), () -> {
       return CachedValueProvider.Result.create(computeAnnotationConfigApplicationContexts(), getOutsideModelDependencies(this));
-    }, false);
-    this.componentScanBeans = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.componentScanBeans = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.componentScanBeans", getProject(), () -> {
       return CachedValueProvider.Result.create(canProcessBeans() ? this.indexProcessor.getComponentScans() : Collections.emptyList(), getOutsideModelDependencies(this));
-    }, false);
-    this.directInheritorsMap = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.directInheritorsMap = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.directInheritorsMap", getProject(), () -> {
       return CachedValueProvider.Result.create(computeDirectInheritorsMap(), getOutsideModelDependencies(this));
-    }, false);
-    this.javaConfigurationModel = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.javaConfigurationModel = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.javaConfigurationModel", getProject(), () -> {
       CommonInfraModel model = new BeansInfraModel(this.module, NotNullLazyValue.lazy(this::computeJavaConfigurations));
       return CachedValueProvider.Result.create(model, getOutsideModelDependencies(this));
-    }, false);
-    this.explicitlyDefinedBeansModel = CachedValuesManager.getManager(getProject()).createCachedValue(() -> {
+    }), false);
+    this.explicitlyDefinedBeansModel = CachedValuesManager.getManager(getProject()).createCachedValue(InfraModelMetrics.track("LocalXmlModel.explicitlyDefinedBeansModel", getProject(), () -> {
       CommonInfraModel model = new BeansInfraModel(this.module, NotNullLazyValue.lazy(this::computeExplicitlyDefinedBeans));
       return CachedValueProvider.Result.create(model, getOutsideModelDependencies(this));
-    }, false);
+    }), false);
   }
 
   public static CachedValueProvider.Result<LocalXmlModelIndexProcessor> createIndexProcessor(XmlFile configFile) {
@@ -380,7 +380,7 @@ public class LocalXmlModelImpl extends LocalXmlModel {
     return this.indexProcessor.processByName(params, processor, activeProfiles);
   }
 
-  private boolean canProcessBeans() {
+  boolean canProcessBeans() {
     DomFileElement<Beans> root = getRoot();
     return root != null && ProfileUtils.isActiveProfile(root.getRootElement(), activeProfiles);
   }
@@ -477,7 +477,7 @@ public class LocalXmlModelImpl extends LocalXmlModel {
   private static Set<PsiClass> getExplicitBeanCandidatePsiClasses(Module module) {
     return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, EXPLICIT_BEAN_CLASSES, () -> {
       PsiClass annotationClass = InfraUtils.findLibraryClass(module, AnnotationConstant.BEAN);
-      Object[] outerModelsDependencies = InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies();
+      Object[] outerModelsDependencies = InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module);
       if (annotationClass == null) {
         return CachedValueProvider.Result.create(Collections.emptySet(), outerModelsDependencies);
       }
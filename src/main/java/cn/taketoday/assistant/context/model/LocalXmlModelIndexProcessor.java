@@ -24,6 +24,7 @@ import com.intellij.ide.projectView.impl.ProjectRootsUtil;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Conditions;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiClassType;
@@ -31,11 +32,11 @@ import com.intellij.psi.PsiType;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
-import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
+import com.intellij.uast.UastModificationTracker;
 import com.intellij.util.ExecutorsQuery;
 import com.intellij.util.Processor;
 import com.intellij.util.Processors;
@@ -81,7 +82,10 @@ public final class LocalXmlModelIndexProcessor {
           CustomBeanWrappersQueryExecutor.BeanName.INSTANCE
   );
 
-  private final InfraExecutorsQueryCachingProcessor<ModelSearchParameters.BeanName, BeanSearchParameters.BeanName> myBeanNameProcessor = new InfraExecutorsQueryCachingProcessor<>() {
+  private static final int CACHE_SIZE = InfraCachingProcessor.getConfiguredCacheSize("xml");
+
+  private final InfraExecutorsQueryCachingProcessor<ModelSearchParameters.BeanName, BeanSearchParameters.BeanName> myBeanNameProcessor = new InfraExecutorsQueryCachingProcessor<>(
+          "LocalXmlModelIndexProcessor.byName", CACHE_SIZE, Conditions.alwaysTrue()) {
     @Override
     public ExecutorsQuery<BeanPointer<?>, BeanSearchParameters.BeanName> createQuery(ModelSearchParameters.BeanName params) {
       return new ExecutorsQuery<>(LocalXmlModelIndexProcessor.this.getByNameSearchParameters(params), ourByNameExecutors);
@@ -158,7 +162,7 @@ public final class LocalXmlModelIndexProcessor {
     private final List<QueryExecutor<BeanPointer<?>, BeanSearchParameters.BeanClass>> myExecutors;
 
     private ByClassCacheProcessor(QueryExecutor<BeanPointer<?>, BeanSearchParameters.BeanClass> executor) {
-      super(aClass -> {
+      super("LocalXmlModelIndexProcessor." + executor.getClass().getSimpleName(), CACHE_SIZE, aClass -> {
         return aClass.getSearchType().isValid();
       });
       this.myExecutors = Collections.singletonList(executor);
@@ -243,7 +247,7 @@ public final class LocalXmlModelIndexProcessor {
           }
         }
       }
-      return CachedValueProvider.Result.create(smartList, ProjectRootManager.getInstance(project), PsiModificationTracker.MODIFICATION_COUNT);
+      return CachedValueProvider.Result.create(smartList, ProjectRootManager.getInstance(project), UastModificationTracker.getInstance(project));
     });
   }
 
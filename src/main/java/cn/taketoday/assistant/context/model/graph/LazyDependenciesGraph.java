@@ -20,6 +20,10 @@
 
 package cn.taketoday.assistant.context.model.graph;
 
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.UserDataHolderBase;
@@ -28,11 +32,15 @@ import com.intellij.util.Function;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.graph.Graph;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class LazyDependenciesGraph<N, E> extends UserDataHolderBase implements Graph<N> {
@@ -81,6 +89,48 @@ public abstract class LazyDependenciesGraph<N, E> extends UserDataHolderBase imp
     return this.myOuts.get(n);
   }
 
+  /**
+   * Computes out dependencies of the given nodes and of all nodes reachable from them up front.
+   * Every traversal level is computed concurrently in read action of the calling thread (if any),
+   * cancellation of the current progress is honoured. Computed dependencies are stored as immutable lists,
+   * graph is then navigated without computing anything.
+   */
+  public final void buildConcurrently(Collection<? extends N> roots) {
+    ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+    Set<N> visited = new HashSet<>(roots);
+    List<N> level = new ArrayList<>();
+    for (N root : roots) {
+      if (!this.myOuts.containsKey(root)) {
+        level.add(root);
+      }
+    }
+    while (!level.isEmpty()) {
+      ProgressManager.checkCanceled();
+      Map<N, Collection<Pair<N, E>>> computed = new ConcurrentHashMap<>();
+      boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(level, indicator, node -> {
+        computed.put(node, List.copyOf(getDependencies(node)));
+        return true;
+      });
+      if (!completed) {
+        throw new ProcessCanceledException();
+      }
+      List<N> nextLevel = new ArrayList<>();
+      for (N node : level) {
+        Collection<Pair<N, E>> outSet = computed.get(node);
+        if (outSet == null || this.myOuts.putIfAbsent(node, outSet) != null) {
+          continue;
+        }
+        for (Pair<N, E> dependency : outSet) {
+          addInDependency(node, dependency.first, dependency.second);
+          if (visited.add(dependency.first) && !this.myOuts.containsKey(dependency.first)) {
+            nextLevel.add(dependency.first);
+          }
+        }
+      }
+      level = nextLevel;
+    }
+  }
+
   public void addInDependency(N from, N to, E edgeDescriptor) {
     Collection<Pair<N, E>> inNodes = this.myIns.get(to);
     if (inNodes == null) {
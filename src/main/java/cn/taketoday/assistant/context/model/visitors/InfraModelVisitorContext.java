@@ -67,6 +67,13 @@ public final class InfraModelVisitorContext<P> {
     }
   }
 
+  /**
+   * @return {@code true} if given processor belongs to a visit in progress, which tracks visited models itself
+   */
+  public static boolean isVisiting(Processor<?> p) {
+    return p instanceof VisitorAwareProcessor;
+  }
+
   public static <P> InfraModelVisitorContext<P> context(Processor<? super P> p, Exec<P> exec) {
     if (p instanceof VisitorAwareProcessor) {
       return ((VisitorAwareProcessor) p).visitor;
@@ -23,9 +23,11 @@ package cn.taketoday.assistant.context.model.visitors;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.util.RecursionManager;
 
-import java.util.Set;
+import java.util.Collection;
+import java.util.List;
 
 import cn.taketoday.assistant.CommonInfraModel;
+import cn.taketoday.assistant.context.model.CombinedInfraModelImpl;
 import cn.taketoday.assistant.context.model.InfraModel;
 
 public final class InfraModelVisitors {
@@ -67,11 +69,17 @@ public final class InfraModelVisitors {
       return true;
     if (visitParent && !visitorContext.visit(parentModel))
       return false;
+    if (parentModel instanceof CombinedInfraModelImpl combinedModel) {
+      // precomputed closure, no need to walk related models again
+      List<CommonInfraModel> closure = combinedModel.getModelsClosure();
+      if (closure != null)
+        return visitClosure(visitorContext, closure);
+    }
     return visitRelated(visitorContext, parentModel.getRelatedModels());
   }
 
   private static <T> boolean visitRelated(
-          InfraModelVisitorContext<T> visitorContext, Set<CommonInfraModel> relatedModels) {
+          InfraModelVisitorContext<T> visitorContext, Collection<CommonInfraModel> relatedModels) {
     for (CommonInfraModel model : relatedModels) {
       ProgressManager.checkCanceled();
       if (!visitRelated(model, visitorContext, true))
@@ -79,4 +87,14 @@ public final class InfraModelVisitors {
     }
     return true;
   }
+
+  private static <T> boolean visitClosure(
+          InfraModelVisitorContext<T> visitorContext, List<CommonInfraModel> closure) {
+    for (CommonInfraModel model : closure) {
+      ProgressManager.checkCanceled();
+      if (!visitorContext.visit(model))
+        return false;
+    }
+    return true;
+  }
 }
@@ -50,6 +50,7 @@ import com.intellij.psi.util.InheritanceUtil;
 import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
+import com.intellij.uast.UastModificationTracker;
 import com.intellij.util.ArrayUtil;
 import com.intellij.util.IncorrectOperationException;
 import com.intellij.util.containers.ContainerUtil;
@@ -163,6 +164,10 @@ public class FactoryBeansManager {
     PsiClass factoryClass = factoryType instanceof PsiClassType ? ((PsiClassType) factoryType).resolve() : null;
     Set<PsiType> objectTypes = factoryClass != null ? this.getObjectTypes(factoryClass, context) : Collections.emptySet();
     if (objectTypes.isEmpty()) {
+      if (factoryClass != null && isPlainClassType(factoryClass, factoryType)) {
+        types.addAll(getPlainObjectTypes(factoryClass));
+        return types.toArray(PsiType.EMPTY_ARRAY);
+      }
       Set<PsiType> psiTypes = guessObjectTypes(factoryClass);
       if (!psiTypes.isEmpty()) {
         ContainerUtil.addAllNotNull(types, psiTypes);
@@ -181,6 +186,29 @@ public class FactoryBeansManager {
     return types.toArray(PsiType.EMPTY_ARRAY);
   }
 
+  private static boolean isPlainClassType(PsiClass factoryClass, PsiType factoryType) {
+    return !factoryClass.hasTypeParameters() && ((PsiClassType) factoryType).getParameterCount() == 0;
+  }
+
+  /**
+   * Context independent object types of non-generic factory class, the case of
+   * most {@code <bean class="...FactoryBean">} definitions.
+   */
+  private static Set<PsiType> getPlainObjectTypes(PsiClass factoryClass) {
+    return CachedValuesManager.getCachedValue(factoryClass, () -> {
+      Set<PsiType> types = guessObjectTypes(factoryClass);
+      if (types.isEmpty()) {
+        PsiType typeParameter = PsiUtil.substituteTypeParameter(PsiTypesUtil.getClassType(factoryClass), InfraConstant.FACTORY_BEAN, 0, false);
+        if (typeParameter != null && !"java.lang.Object".equals(typeParameter.getCanonicalText())) {
+          types = Collections.singleton(typeParameter);
+        }
+      }
+      Project project = factoryClass.getProject();
+      return CachedValueProvider.Result.create(types, factoryClass,
+              UastModificationTracker.getInstance(project), ProjectRootManager.getInstance(project));
+    });
+  }
+
   @Nullable
   private static PsiType createTypeByTypeName(@Nullable PsiClass factoryClass, @Nullable String typeName) {
     if (factoryClass != null && !StringUtil.isEmptyOrSpaces(typeName)) {
@@ -228,10 +256,14 @@ public class FactoryBeansManager {
     return factories;
   }
 
+  /**
+   * Class hierarchy can only be changed by JVM language sources, so edits of XML configs,
+   * properties and other files don't re-run the inheritors search.
+   */
   public Set<PsiClass> getUserDefinedFactoryBeans(Project project) {
     return CachedValuesManager.getManager(project).getCachedValue(project, () -> {
       Set<PsiClass> factories = this.getFactoryBeanInheritors(project, ProjectScope.getContentScope(project));
-      return CachedValueProvider.Result.create(factories, PsiModificationTracker.MODIFICATION_COUNT, ProjectRootManager.getInstance(project));
+      return CachedValueProvider.Result.create(factories, UastModificationTracker.getInstance(project), ProjectRootManager.getInstance(project));
     });
   }
 
@@ -406,7 +438,8 @@ public class FactoryBeansManager {
   public boolean isFactoryBeanClass(PsiClass psiClass) {
     return CachedValuesManager.getCachedValue(psiClass, () -> {
       boolean isBeanFactory = InheritanceUtil.isInheritor(psiClass, InfraConstant.FACTORY_BEAN);
-      return CachedValueProvider.Result.createSingleDependency(isBeanFactory, PsiModificationTracker.MODIFICATION_COUNT);
+      Project project = psiClass.getProject();
+      return CachedValueProvider.Result.create(isBeanFactory, UastModificationTracker.getInstance(project), ProjectRootManager.getInstance(project));
     });
   }
 
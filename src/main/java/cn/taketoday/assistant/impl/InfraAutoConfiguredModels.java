@@ -118,6 +118,8 @@ public final class InfraAutoConfiguredModels {
 
   private static Set<LocalModel<?>> filterAutoConfiguredModelsSet(Set<LocalModel<?>> models, Module module) {
     LazyModelDependenciesGraph graph = getModelsGraph(models, module);
+    // discover imports and component scans of all candidates up front, they are independent of each other
+    graph.buildConcurrently(models);
     HashSet<LocalModel<?>> configuredModels = new HashSet<>();
     Graph<Chunk<LocalModel<?>>> sccGraph = GraphAlgorithms.getInstance().computeSCCGraph(graph);
     for (Chunk<LocalModel<?>> chunk : sccGraph.getNodes()) {
@@ -21,11 +21,14 @@
 package cn.taketoday.assistant.impl;
 
 import com.intellij.ide.highlighter.HtmlFileType;
+import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.lang.properties.psi.PropertiesFile;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.util.ModificationTracker;
@@ -57,6 +60,7 @@ import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.spi.psi.SPIFile;
+import com.intellij.util.containers.CollectionFactory;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.messages.MessageBusConnection;
 
@@ -71,46 +75,141 @@ import org.jetbrains.uast.util.ClassSet;
 import org.jetbrains.uast.util.ClassSetKt;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import cn.taketoday.lang.Nullable;
 
+/**
+ * Project-wide tracker of changes which may affect models: configuration files, bean-like
+ * Java/Kotlin declarations and created/moved/deleted files.
+ * <p>
+ * Each change is also counted by {@link #getModuleTracker(Module) module} (propagated to all modules
+ * depending on the changed one) and by {@link ConfigKind kind}, so caches of unrelated modules
+ * survive edits elsewhere.
+ */
 public class InfraOuterModelsModificationTracker extends SimpleModificationTracker {
 
   public static final LanguageFileType JSP = (LanguageFileType) FileTypeManager.getInstance().getStdFileType("JSP");
   public static final LanguageFileType JSPX = (LanguageFileType) FileTypeManager.getInstance().getStdFileType("JSPX");
 
+  public enum ConfigKind {
+    XML_CONFIG,
+    JAVA_CONFIG,
+    PROPERTIES,
+    FACTORIES
+  }
+
+  private final Project myProject;
+  private final ProjectFileIndex myFileIndex;
+  private final SimpleModificationTracker[] myKindTrackers = new SimpleModificationTracker[ConfigKind.values().length];
+  private final Map<Module, SimpleModificationTracker> myModuleTrackers = CollectionFactory.createConcurrentWeakMap();
+
+  /**
+   * changes not belonging to any module, affect all of them
+   */
+  private final SimpleModificationTracker myUnattributedTracker = new SimpleModificationTracker();
+
   public InfraOuterModelsModificationTracker(Project project, Disposable parent, boolean useUastBased) {
+    this.myProject = project;
+    this.myFileIndex = ProjectFileIndex.getInstance(project);
+    for (int i = 0; i < myKindTrackers.length; i++) {
+      myKindTrackers[i] = new SimpleModificationTracker();
+    }
     PsiManager.getInstance(project).addPsiTreeChangeListener(useUastBased ? new MyUastPsiTreeChangeAdapter(project) : new MyJavaPsiTreeChangeAdapter(), parent);
     MessageBusConnection connection = project.getMessageBus().connect(parent);
-    connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkVirtualFileListenerAdapter(new MyVirtualFileListener(project)));
+    connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkVirtualFileListenerAdapter(new MyVirtualFileListener()));
+  }
+
+  /**
+   * @return tracker of changes in given module, modules it depends on and files outside of modules
+   */
+  public ModificationTracker getModuleTracker(Module module) {
+    SimpleModificationTracker moduleTracker = getOwnModuleTracker(module);
+    return () -> moduleTracker.getModificationCount() + myUnattributedTracker.getModificationCount();
+  }
+
+  public ModificationTracker getKindTracker(ConfigKind kind) {
+    return myKindTrackers[kind.ordinal()];
+  }
+
+  private SimpleModificationTracker getOwnModuleTracker(Module module) {
+    return myModuleTrackers.computeIfAbsent(module, m -> new SimpleModificationTracker());
+  }
+
+  private void fireChanged(@Nullable PsiFile psiFile, ConfigKind kind) {
+    fireChanged(psiFile == null ? null : psiFile.getOriginalFile().getVirtualFile(), kind);
+  }
+
+  /**
+   * @param kind {@code null} if all kinds may be affected
+   */
+  private void fireChanged(@Nullable VirtualFile file, @Nullable ConfigKind kind) {
+    incModificationCount();
+    if (kind != null) {
+      myKindTrackers[kind.ordinal()].incModificationCount();
+    }
+    else {
+      for (SimpleModificationTracker tracker : myKindTrackers) {
+        tracker.incModificationCount();
+      }
+    }
+
+    Module module = file == null || myProject.isDisposed() ? null : myFileIndex.getModuleForFile(file);
+    if (module == null) {
+      myUnattributedTracker.incModificationCount();
+    }
+    else {
+      Set<Module> dependents = new HashSet<>();
+      ModuleUtilCore.collectModulesDependsOn(module, dependents);
+      for (Module dependent : dependents) {
+        getOwnModuleTracker(dependent).incModificationCount();
+      }
+    }
   }
 
   private boolean processConfigFileChange(PsiFile psiFile) {
     if (psiFile instanceof PropertiesFile) {
-      incModificationCount();
+      fireChanged(psiFile, isFactoriesFile(psiFile) ? ConfigKind.FACTORIES : ConfigKind.PROPERTIES);
       return true;
     }
     else if (psiFile instanceof SPIFile) {
-      incModificationCount();
+      fireChanged(psiFile, ConfigKind.FACTORIES);
       return true;
     }
     else {
       String languageId = psiFile == null ? null : psiFile.getLanguage().getID();
       if ("yaml".equals(languageId)) {
-        incModificationCount();
+        fireChanged(psiFile, ConfigKind.PROPERTIES);
         return true;
       }
       return false;
     }
   }
 
-  private final class MyVirtualFileListener implements VirtualFileListener {
-    private final ProjectFileIndex myFileIndex;
+  private static boolean isFactoriesFile(PsiFile psiFile) {
+    String name = psiFile.getName();
+    return name.endsWith(".factories") || name.endsWith(".strategies");
+  }
 
-    private MyVirtualFileListener(Project project) {
-      this.myFileIndex = ProjectFileIndex.getInstance(project);
+  private static ConfigKind getConfigKind(VirtualFile file) {
+    FileType type = file.getFileType();
+    if (type instanceof XmlFileType) {
+      return ConfigKind.XML_CONFIG;
+    }
+    String extension = file.getExtension();
+    if ("properties".equals(extension) || "yaml".equals(extension) || "yml".equals(extension)) {
+      return ConfigKind.PROPERTIES;
     }
+    if ("factories".equals(extension) || "strategies".equals(extension)
+            || (type instanceof LanguageFileType && "SPI".equals(((LanguageFileType) type).getLanguage().getID()))) {
+      return ConfigKind.FACTORIES;
+    }
+    return ConfigKind.JAVA_CONFIG;
+  }
+
+  private final class MyVirtualFileListener implements VirtualFileListener {
 
     public void fileCreated(VirtualFileEvent event) {
       incModificationCountIfMine(event);
@@ -122,6 +221,10 @@ public class InfraOuterModelsModificationTracker extends SimpleModificationTrack
 
     public void fileMoved(VirtualFileMoveEvent event) {
       incModificationCountIfMine(event);
+      VirtualFile file = event.getFile();
+      if (myFileIndex.isInContent(event.getOldParent()) && (file.isDirectory() || !isIgnoredFileType(file.getFileType()))) {
+        fireChanged(event.getOldParent(), file.isDirectory() ? null : getConfigKind(file));
+      }
     }
 
     public void propertyChanged(VirtualFilePropertyEvent event) {
@@ -132,13 +235,13 @@ public class InfraOuterModelsModificationTracker extends SimpleModificationTrack
 
     private void incModificationCountIfMine(VirtualFileEvent event) {
       VirtualFile file = event.getFile();
-      if (!this.myFileIndex.isInContent(file)) {
+      if (!myFileIndex.isInContent(file)) {
         return;
       }
       if (!file.isDirectory() && isIgnoredFileType(file.getFileType())) {
         return;
       }
-      InfraOuterModelsModificationTracker.this.incModificationCount();
+      fireChanged(file, file.isDirectory() ? null : getConfigKind(file));
     }
 
     private boolean isIgnoredFileType(FileType type) {
@@ -184,31 +287,31 @@ public class InfraOuterModelsModificationTracker extends SimpleModificationTrack
         return;
       }
       if ((parent instanceof PsiModifierList) && (child instanceof PsiAnnotation)) {
-        checkRelevantAnnotation((PsiAnnotation) child);
+        checkRelevantAnnotation(psiFile, (PsiAnnotation) child);
       }
       else if ((parent instanceof PsiModifierList) && (parent.getParent() instanceof PsiClass)) {
-        InfraOuterModelsModificationTracker.this.incModificationCount();
+        fireChanged(psiFile, ConfigKind.JAVA_CONFIG);
       }
       else if (parent instanceof PsiClass) {
         if ((child instanceof PsiClass) || (event.getNewChild() instanceof PsiClass) || (event.getOldChild() instanceof PsiClass)) {
-          InfraOuterModelsModificationTracker.this.incModificationCount();
+          fireChanged(psiFile, ConfigKind.JAVA_CONFIG);
         }
       }
       else if ((parent instanceof PsiImportList) || (child instanceof PsiImportList) || PsiTreeUtil.getParentOfType(parent, PsiImportList.class) != null) {
-        InfraOuterModelsModificationTracker.this.incModificationCount();
+        fireChanged(psiFile, ConfigKind.JAVA_CONFIG);
       }
       else {
         PsiAnnotation annotation = PsiTreeUtil.getParentOfType(parent, PsiAnnotation.class);
         if (annotation != null) {
-          checkRelevantAnnotation(annotation);
+          checkRelevantAnnotation(psiFile, annotation);
         }
       }
     }
 
-    private void checkRelevantAnnotation(PsiAnnotation annotation) {
+    private void checkRelevantAnnotation(PsiFile psiFile, PsiAnnotation annotation) {
       PsiModifierListOwner modifierListOwner = PsiTreeUtil.getParentOfType(annotation, PsiModifierListOwner.class);
       if (modifierListOwner == null || (modifierListOwner instanceof PsiClass) || (modifierListOwner instanceof PsiMethod)) {
-        InfraOuterModelsModificationTracker.this.incModificationCount();
+        fireChanged(psiFile, ConfigKind.JAVA_CONFIG);
       }
     }
   }
@@ -292,7 +395,7 @@ public class InfraOuterModelsModificationTracker extends SimpleModificationTrack
 
         return ClassSetKt.isInstanceOf(possiblePsiTypes, possiblePsiTypes.forImports) || isRelevantAnnotation(it, possiblePsiTypes);
       }) || (child instanceof LazyParseablePsiElement)))) {
-        InfraOuterModelsModificationTracker.this.incModificationCount();
+        fireChanged(psiFile, ConfigKind.JAVA_CONFIG);
       }
     }
 
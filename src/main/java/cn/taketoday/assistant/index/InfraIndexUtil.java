@@ -144,6 +144,10 @@ final class InfraIndexUtil {
     if (CharArrayUtil.indexOf(text, "http://www.springframework.org/", 0) == -1 || (CharArrayUtil.indexOf(text, "<beans", 0) == -1 && CharArrayUtil.indexOf(text, ":beans", 0) == -1)) {
       return Collections.emptyList();
     }
+    List<InfraBeanIndexInfo> streamed = InfraXmlBeansStreamingIndexer.getAllBeanInfos(text);
+    if (streamed != null) {
+      return streamed;
+    }
     PsiFile psiFile = content.getPsiFile();
     if (!(psiFile instanceof XmlFile)) {
       return Collections.emptyList();
@@ -261,7 +265,7 @@ final class InfraIndexUtil {
     }
   }
 
-  private static boolean isFactoryBeanCandidateClass(InfraBeanIndexInfo info) {
+  static boolean isFactoryBeanCandidateClass(InfraBeanIndexInfo info) {
     String fqn;
     InfraBeanType type = info.getType();
     return (type == InfraBeanType.SIMPLE || type == InfraBeanType.CUSTOM) && (fqn = info.getFqn()) != null && (FactoryBeansManager.of().isKnownBeanFactory(fqn) || StringUtil.endsWith(
@@ -275,7 +279,7 @@ final class InfraIndexUtil {
     private InfraBeanType myType = InfraBeanType.SIMPLE;
     private String[] aliases = ArrayUtilRt.EMPTY_STRING_ARRAY;
 
-    private InfraBeanIndexInfo(int offset) {
+    InfraBeanIndexInfo(int offset) {
       this.offset = offset;
     }
 
@@ -283,7 +287,7 @@ final class InfraIndexUtil {
       return this.aliases;
     }
 
-    private void setAliases(String[] aliases) {
+    void setAliases(String[] aliases) {
       this.aliases = aliases;
     }
 
@@ -295,7 +299,7 @@ final class InfraIndexUtil {
       return this.id;
     }
 
-    private void setId(String id) {
+    void setId(String id) {
       this.id = id;
     }
 
@@ -303,7 +307,7 @@ final class InfraIndexUtil {
       return this.fqn;
     }
 
-    private void setFqn(String fqn) {
+    void setFqn(String fqn) {
       this.fqn = fqn;
     }
 
@@ -311,7 +315,7 @@ final class InfraIndexUtil {
       return this.myType;
     }
 
-    private void setType(InfraBeanType type) {
+    void setType(InfraBeanType type) {
       this.myType = type;
     }
 
@@ -71,7 +71,7 @@ import gnu.trove.TIntProcedure;
 
 public class InfraXmlBeansIndex extends FileBasedIndexExtension<Pair<InfraBeanIndexType, String>, TIntArrayList> {
 
-  private static final int INDEX_VERSION = 27;
+  private static final int INDEX_VERSION = 28;
   public static final ID<Pair<InfraBeanIndexType, String>, TIntArrayList> NAME = ID.create("XmlBeansIndex");
   private final DataIndexer<Pair<InfraBeanIndexType, String>, TIntArrayList, FileContent> myIndexer = InfraIndexUtil::indexFile;
   private final DataExternalizer<TIntArrayList> myValueExternalizer = new DataExternalizer<>() {
@@ -0,0 +1,286 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.index;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.ArrayUtilRt;
+import com.intellij.util.text.CharSequenceReader;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import cn.taketoday.assistant.InfraConstant;
+import cn.taketoday.assistant.index.InfraIndexUtil.InfraBeanIndexInfo;
+import cn.taketoday.assistant.index.InfraIndexUtil.InfraBeanType;
+import cn.taketoday.assistant.util.InfraUtils;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Indexes XML configuration files using StAX pull parser without building PSI and DOM.
+ * <p>
+ * Only files containing elements of beans namespace exclusively are handled,
+ * elements of any other namespace (core or registered {@link cn.taketoday.assistant.dom.InfraCustomNamespaces},
+ * as well as unknown namespaces indexed as custom bean wrappers) need DOM model to determine
+ * bean types, names and classes. For such files {@code null} is returned and caller falls back to DOM.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @see InfraIndexUtil#indexFile(com.intellij.util.indexing.FileContent)
+ * @since 1.0
+ */
+final class InfraXmlBeansStreamingIndexer {
+  private static final Logger LOG = Logger.getInstance(InfraXmlBeansStreamingIndexer.class);
+
+  private static final String BEANS = "beans";
+  private static final String BEAN = "bean";
+  private static final String ALIAS = "alias";
+
+  /**
+   * Children of {@code <beans>}.
+   */
+  private static final Set<String> BEANS_CHILDREN = Set.of(BEANS, BEAN, ALIAS, "import", "description");
+
+  /**
+   * Elements of beans namespace which may contain {@code <bean>} elements.
+   */
+  private static final Set<String> BEAN_CONTAINERS = Set.of(
+          BEANS, "property", "constructor-arg", "list", "set", "array", "map", "entry", "key");
+
+  /**
+   * All other elements of beans namespace, no beans are defined inside them.
+   */
+  private static final Set<String> BEANS_ELEMENTS = Set.of(
+          BEAN, ALIAS, "description", "import", "meta", "qualifier", "attribute", "lookup-method",
+          "replaced-method", "arg-type", "ref", "idref", "value", "null", "props", "prop");
+
+  private final CharSequence text;
+
+  private int cursor;
+
+  private InfraXmlBeansStreamingIndexer(CharSequence text) {
+    this.text = text;
+  }
+
+  /**
+   * @return all bean infos or {@code null} if file must be indexed using DOM
+   */
+  @Nullable
+  static List<InfraBeanIndexInfo> getAllBeanInfos(CharSequence text) {
+    try {
+      return new InfraXmlBeansStreamingIndexer(text).index();
+    }
+    catch (ProcessCanceledException e) {
+      throw e;
+    }
+    catch (XMLStreamException | RuntimeException e) {
+      // malformed file while editing, DOM is tolerant to errors
+      return null;
+    }
+  }
+
+  @Nullable
+  private List<InfraBeanIndexInfo> index() throws XMLStreamException {
+    XMLStreamReader reader = createInputFactory().createXMLStreamReader(new CharSequenceReader(text));
+    try {
+      List<InfraBeanIndexInfo> allInfos = new ArrayList<>();
+      Deque<String> parents = new ArrayDeque<>();
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.DTD) {
+          return null;
+        }
+        if (event == XMLStreamConstants.END_ELEMENT) {
+          parents.pop();
+        }
+        else if (event == XMLStreamConstants.START_ELEMENT) {
+          if (!InfraConstant.BEANS_XSD.equals(reader.getNamespaceURI())) {
+            return null;
+          }
+          String name = reader.getLocalName();
+          String parent = parents.peek();
+          if (parent == null ? !BEANS.equals(name) : !isAllowedChild(parent, name)) {
+            return null;
+          }
+          int offset = findTagNameOffset(reader.getPrefix(), name);
+          if (offset < 0) {
+            return null;
+          }
+          if (BEAN.equals(name)) {
+            allInfos.add(createBeanInfo(reader, offset));
+          }
+          else if (ALIAS.equals(name)) {
+            String aliasName = getAttribute(reader, "alias");
+            if (StringUtil.isNotEmpty(aliasName)) {
+              InfraBeanIndexInfo info = new InfraBeanIndexInfo(offset);
+              info.setType(InfraBeanType.ALIAS);
+              info.setId(aliasName);
+              allInfos.add(info);
+            }
+          }
+          parents.push(name);
+        }
+      }
+      return allInfos;
+    }
+    finally {
+      reader.close();
+    }
+  }
+
+  private static boolean isAllowedChild(String parent, String name) {
+    if (BEANS.equals(parent)) {
+      return BEANS_CHILDREN.contains(name);
+    }
+    if (BEANS.equals(name) || ALIAS.equals(name)) {
+      return false;
+    }
+    if (BEAN.equals(name)) {
+      return BEAN_CONTAINERS.contains(parent);
+    }
+    return BEAN_CONTAINERS.contains(name) || BEANS_ELEMENTS.contains(name);
+  }
+
+  /**
+   * Mirrors {@code InfraBeanImpl#getBeanName()}, {@code InfraBeanImpl#getAliases()}
+   * and class/factory detection of DOM based indexing.
+   */
+  private static InfraBeanIndexInfo createBeanInfo(XMLStreamReader reader, int offset) {
+    InfraBeanIndexInfo info = new InfraBeanIndexInfo(offset);
+
+    String id = getAttribute(reader, "id");
+    String name = getAttribute(reader, "name");
+    List<String> names = name != null ? InfraUtils.tokenize(name) : new ArrayList<>();
+    if (id != null) {
+      info.setId(id);
+    }
+    else if (!names.isEmpty()) {
+      info.setId(names.get(0));
+    }
+    if (name != null) {
+      if (id == null && names.size() > 1) {
+        names.remove(0);
+      }
+      info.setAliases(ArrayUtilRt.toStringArray(names));
+    }
+
+    String className = getAttribute(reader, "class");
+    if (className != null) {
+      info.setFqn(className.replace('$', '.'));
+      if (getAttribute(reader, "factory-method") != null) {
+        info.setType(InfraBeanType.FACTORY_METHOD);
+      }
+    }
+    else if (getAttribute(reader, "factory-bean") != null) {
+      info.setType(InfraBeanType.FACTORY_BEAN);
+    }
+    else if (getAttribute(reader, "parent") != null) {
+      info.setType(InfraBeanType.ABSTRACT_BEAN);
+    }
+    if (InfraIndexUtil.isFactoryBeanCandidateClass(info)) {
+      info.setType(InfraBeanType.FACTORY_BEAN_CLASS);
+    }
+    return info;
+  }
+
+  @Nullable
+  private static String getAttribute(XMLStreamReader reader, String localName) {
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      if (StringUtil.isEmpty(reader.getAttributeNamespace(i))
+              && localName.equals(reader.getAttributeLocalName(i))) {
+        return reader.getAttributeValue(i);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds next start tag in text skipping comments, CDATA sections, processing instructions and end tags.
+   * Start tags are reported by the reader in document order, so the next one found must be the current element.
+   *
+   * @return offset of tag name (same as {@code XmlTag#getTextOffset()}), {@code -1} if text does not match
+   */
+  private int findTagNameOffset(@Nullable String prefix, String localName) {
+    String qualifiedName = StringUtil.isEmpty(prefix) ? localName : prefix + ":" + localName;
+    int length = text.length();
+    while (cursor < length) {
+      int start = StringUtil.indexOf(text, '<', cursor);
+      if (start < 0) {
+        return -1;
+      }
+      if (startsWith(start, "<!--")) {
+        cursor = skipTo(start + 4, "-->");
+      }
+      else if (startsWith(start, "<![CDATA[")) {
+        cursor = skipTo(start + 9, "]]>");
+      }
+      else if (startsWith(start, "<?")) {
+        cursor = skipTo(start + 2, "?>");
+      }
+      else if (startsWith(start, "<!") || startsWith(start, "</")) {
+        cursor = skipTo(start + 2, ">");
+      }
+      else {
+        int nameOffset = start + 1;
+        int nameEnd = nameOffset + qualifiedName.length();
+        cursor = nameOffset;
+        if (startsWith(nameOffset, qualifiedName) && nameEnd < length && isNameEnd(text.charAt(nameEnd))) {
+          return nameOffset;
+        }
+        LOG.debug("Unexpected start tag at " + start + ", expected " + qualifiedName);
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  private boolean startsWith(int offset, String prefix) {
+    return StringUtil.startsWith(text, offset, prefix);
+  }
+
+  private int skipTo(int offset, String end) {
+    int index = StringUtil.indexOf(text, end, offset);
+    return index < 0 ? text.length() : index + end.length();
+  }
+
+  private static boolean isNameEnd(char c) {
+    return c == '>' || c == '/' || Character.isWhitespace(c);
+  }
+
+  /**
+   * Factories are not guaranteed to be thread-safe, indexing runs in parallel.
+   */
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
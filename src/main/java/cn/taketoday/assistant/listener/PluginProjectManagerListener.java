@@ -24,6 +24,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManagerListener;
 
 import cn.taketoday.assistant.service.ProjectService;
+import cn.taketoday.assistant.startup.InfraModelSnapshots;
 
 /**
  * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
@@ -38,4 +39,9 @@ public class PluginProjectManagerListener implements ProjectManagerListener {
     System.out.println(service);
   }
 
+  @Override
+  public void projectClosing(Project project) {
+    InfraModelSnapshots.of(project).saveOnClose();
+  }
+
 }
@@ -87,6 +87,6 @@ public abstract class InfraImplicitBeansProviderBase extends CustomModuleCompone
 
   @Override
   public Object[] getDependencies(Module module) {
-    return InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies();
+    return InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module);
   }
 }
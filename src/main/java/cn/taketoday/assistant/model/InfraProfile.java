@@ -25,6 +25,7 @@ import com.intellij.util.containers.ContainerUtil;
 import java.util.Collections;
 import java.util.Set;
 
+import cn.taketoday.assistant.profiles.ActiveProfiles;
 import cn.taketoday.lang.Nullable;
 
 public interface InfraProfile {
@@ -55,6 +56,11 @@ public interface InfraProfile {
     public boolean matches(Set<String> activeProfiles) {
       return true;
     }
+
+    @Override
+    public boolean matches(ActiveProfiles activeProfiles) {
+      return true;
+    }
   };
 
   @Nullable
@@ -65,4 +71,11 @@ public interface InfraProfile {
   Set<String> getExpressions();
 
   boolean matches(Set<String> activeProfiles);
+
+  /**
+   * Same as {@link #matches(Set)}, for active profiles converted once per query.
+   */
+  default boolean matches(ActiveProfiles activeProfiles) {
+    return matches(activeProfiles.getNames());
+  }
 }
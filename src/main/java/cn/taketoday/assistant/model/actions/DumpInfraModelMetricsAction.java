@@ -0,0 +1,62 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.model.actions;
+
+import com.intellij.json.JsonFileType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.util.text.DateFormatUtil;
+
+import cn.taketoday.assistant.context.model.InfraModelMetrics;
+
+/**
+ * Opens cache hit rates, computation latencies and recompute causes
+ * collected by {@link InfraModelMetrics} as JSON.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public class DumpInfraModelMetricsAction extends AnAction {
+
+  public void update(AnActionEvent e) {
+    e.getPresentation().setEnabled(e.getProject() != null);
+  }
+
+  public ActionUpdateThread getActionUpdateThread() {
+    return ActionUpdateThread.BGT;
+  }
+
+  public void actionPerformed(AnActionEvent e) {
+    Project project = e.getProject();
+    if (project == null) {
+      return;
+    }
+    String fileName = String.format("InfraModelMetrics-%s.json", DateFormatUtil.formatDateTime(System.currentTimeMillis()));
+    LightVirtualFile file = new LightVirtualFile(fileName, JsonFileType.INSTANCE, InfraModelMetrics.toJson());
+    OpenFileDescriptor descriptor = new OpenFileDescriptor(project, file);
+    FileEditorManager.getInstance(project).openEditor(descriptor, true);
+  }
+}
@@ -21,6 +21,7 @@
 package cn.taketoday.assistant.model.config.autoconfigure;
 
 import java.util.Collection;
+import java.util.function.Predicate;
 
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionOutcome;
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
@@ -38,13 +39,21 @@ abstract class AbstractAutoConfigConditionEvaluator {
   }
 
   boolean isActive() {
-    Collection<ConditionalOnJamElement> allConditions = getConditionalCollector().getConditionals();
+    return isActive(condition -> true);
+  }
+
+  /**
+   * @param filter conditions to evaluate, others are considered matching
+   */
+  boolean isActive(Predicate<ConditionalOnJamElement> filter) {
+    ConditionalCollector collector = getConditionalCollector();
+    Collection<ConditionalOnJamElement> allConditions = collector.getConditionals();
     if (allConditions.isEmpty()) {
       return true;
     }
     for (ConditionalOnJamElement condition : allConditions) {
-      if (!this.nonStrictEvaluation || !(condition instanceof ConditionalOnJamElement.NonStrict)) {
-        ConditionOutcome outcome = condition.matches(this.conditionalOnEvaluationContext);
+      if (filter.test(condition) && (!this.nonStrictEvaluation || !(condition instanceof ConditionalOnJamElement.NonStrict))) {
+        ConditionOutcome outcome = ClasspathConditionOutcomes.matches(condition, collector.getOwner(), this.conditionalOnEvaluationContext);
         if (!outcome.isMatch()) {
           return false;
         }
@@ -20,18 +20,24 @@
 
 package cn.taketoday.assistant.model.config.autoconfigure;
 
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.jam.JamService;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicatorProvider;
 import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
 import com.intellij.util.PairProcessor;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import cn.taketoday.assistant.InfraLibraryUtil;
 import cn.taketoday.assistant.app.InfraConfigurationFileService;
@@ -47,11 +53,16 @@ import cn.taketoday.assistant.facet.beans.CustomSetting;
 import cn.taketoday.assistant.model.InfraProfile;
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContextBase;
+import cn.taketoday.assistant.model.config.autoconfigure.conditions.jam.ConditionalOnJamElement;
 import cn.taketoday.assistant.util.InfraUtils;
 import cn.taketoday.lang.Nullable;
 
 public abstract class AbstractAutoConfigDependentModelsProvider extends LocalAnnotationModelDependentModelsProvider {
 
+  private static final Predicate<ConditionalOnJamElement> ORDER_INDEPENDENT = condition -> !(condition instanceof ConditionalOnJamElement.BeanDependent);
+  private static final Predicate<ConditionalOnJamElement> ORDER_DEPENDENT = condition -> condition instanceof ConditionalOnJamElement.BeanDependent;
+  private static final Predicate<ConditionalOnJamElement> ALL_CONDITIONS = condition -> true;
+
   protected abstract List<PsiClass> getAutoConfigClasses(
           LocalAnnotationModel localAnnotationModel, ConditionalOnEvaluationContext conditionalOnEvaluationContext);
 
@@ -82,12 +93,47 @@ public abstract class AbstractAutoConfigDependentModelsProvider extends LocalAnn
     Set<Pair<LocalModel<?>, LocalModelDependency>> autoConfigModels = new LinkedHashSet<>();
     ConditionalOnEvaluationContext sharedContext = createContext(localAnnotationModel.getConfig(), module, localAnnotationModel.getActiveProfiles(), configFilesCache, null);
     List<PsiClass> autoConfigClasses = getAutoConfigClasses(localAnnotationModel, sharedContext);
-    for (PsiClass autoConfigClass : autoConfigClasses) {
-      sharedContext = processConfigurationClass(autoConfigModels, autoConfigClass, nonStrictEvaluation, sharedContext, module, localAnnotationModel.getActiveProfiles(), configFilesCache);
+    List<PsiClass> candidates = filterByOrderIndependentConditions(autoConfigClasses, nonStrictEvaluation, sharedContext,
+            module, localAnnotationModel.getActiveProfiles(), configFilesCache);
+    for (PsiClass autoConfigClass : candidates) {
+      sharedContext = processConfigurationClass(autoConfigModels, autoConfigClass, ORDER_DEPENDENT, nonStrictEvaluation, sharedContext,
+              module, localAnnotationModel.getActiveProfiles(), configFilesCache);
     }
     return autoConfigModels;
   }
 
+  /**
+   * Evaluates all but bean conditions of given classes concurrently, these do not depend on the order
+   * auto-configurations are applied in. Bean conditions of remaining classes are evaluated afterwards
+   * in sorted order.
+   *
+   * @return classes passing order independent conditions, in original order
+   */
+  private static List<PsiClass> filterByOrderIndependentConditions(List<PsiClass> autoConfigClasses,
+          boolean nonStrictEvaluation, ConditionalOnEvaluationContext sharedContext,
+          Module module, Set<String> activeProfiles, NotNullLazyValue<List<VirtualFile>> configFilesCache) {
+    Set<PsiClass> inactive = ConcurrentHashMap.newKeySet();
+    // runs under read action of the calling thread, cancelled with its progress
+    JobLauncher.getInstance().invokeConcurrentlyUnderProgress(autoConfigClasses, ProgressIndicatorProvider.getGlobalProgressIndicator(), autoConfigClass -> {
+      ConditionalOnEvaluationContext context = new SharedUserDataContext(autoConfigClass, module, activeProfiles, configFilesCache, sharedContext);
+      if (!new AutoConfigClassConditionEvaluator(autoConfigClass, nonStrictEvaluation, context).isActive(ORDER_INDEPENDENT)) {
+        inactive.add(autoConfigClass);
+      }
+      return true;
+    });
+    ProgressManager.checkCanceled();
+    if (inactive.isEmpty()) {
+      return autoConfigClasses;
+    }
+    List<PsiClass> candidates = new ArrayList<>(autoConfigClasses.size() - inactive.size());
+    for (PsiClass autoConfigClass : autoConfigClasses) {
+      if (!inactive.contains(autoConfigClass)) {
+        candidates.add(autoConfigClass);
+      }
+    }
+    return candidates;
+  }
+
   private static ConditionalOnEvaluationContext createContext(PsiClass psiClass, Module module, Set<String> activeProfiles,
           NotNullLazyValue<List<VirtualFile>> configFilesCache, @Nullable ConditionalOnEvaluationContext sharedContext) {
     ConditionalOnEvaluationContextBase useSharedContext = sharedContext instanceof ConditionalOnEvaluationContextBase ? (ConditionalOnEvaluationContextBase) sharedContext : null;
@@ -96,7 +142,8 @@ public abstract class AbstractAutoConfigDependentModelsProvider extends LocalAnn
 
   static NotNullLazyValue<List<VirtualFile>> createConfigFilesCache(Module module, Set<String> activeProfiles) {
     boolean includeTestScope = activeProfiles != null && activeProfiles.contains(InfraProfile.DEFAULT_TEST_PROFILE_NAME);
-    return NotNullLazyValue.lazy(() -> {
+    // shared by concurrently evaluated conditions
+    return NotNullLazyValue.atomicLazy(() -> {
       return InfraConfigurationFileService.of().findConfigFiles(module, includeTestScope);
     });
   }
@@ -109,13 +156,13 @@ public abstract class AbstractAutoConfigDependentModelsProvider extends LocalAnn
 
   private ConditionalOnEvaluationContext processConfigurationClass(
           Set<Pair<LocalModel<?>, LocalModelDependency>> autoConfigModels, PsiClass autoConfigClass,
-          boolean nonStrictEvaluation, @Nullable ConditionalOnEvaluationContext sharedContext,
+          Predicate<ConditionalOnJamElement> conditions, boolean nonStrictEvaluation, @Nullable ConditionalOnEvaluationContext sharedContext,
           Module module, Set<String> activeProfiles, NotNullLazyValue<List<VirtualFile>> configFilesCache) {
     ProgressManager.checkCanceled();
     ConditionalOnEvaluationContext context = createContext(autoConfigClass, module, activeProfiles, configFilesCache, sharedContext);
     AutoConfigClassConditionEvaluator evaluator = new AutoConfigClassConditionEvaluator(
             autoConfigClass, nonStrictEvaluation, context);
-    if (!evaluator.isActive()) {
+    if (!evaluator.isActive(conditions)) {
       return context;
     }
     LocalAnnotationModel autoConfigModel = new AutoConfigLocalAnnotationModel(autoConfigClass, module, activeProfiles, nonStrictEvaluation,
@@ -126,7 +173,7 @@ public abstract class AbstractAutoConfigDependentModelsProvider extends LocalAnn
     for (PsiClass innerConfig : autoConfigClass.getInnerClasses()) {
       if (innerConfig.hasModifierProperty("static")
               && JamService.getJamService(module.getProject()).getJamElement(Configuration.JAM_KEY, innerConfig) != null) {
-        processConfigurationClass(autoConfigModels, innerConfig, nonStrictEvaluation, context, module, activeProfiles, configFilesCache);
+        processConfigurationClass(autoConfigModels, innerConfig, ALL_CONDITIONS, nonStrictEvaluation, context, module, activeProfiles, configFilesCache);
       }
     }
     return context;
@@ -135,4 +182,39 @@ public abstract class AbstractAutoConfigDependentModelsProvider extends LocalAnn
   protected static boolean isInfraConfigured(Module module) {
     return InfraUtils.hasFacet(module) && InfraLibraryUtil.hasFrameworkLibrary(module);
   }
+
+  /**
+   * Context of concurrently evaluated conditions, user data is read from and written to the shared context,
+   * so outcomes memoized by conditions are computed once for all classes.
+   */
+  private static final class SharedUserDataContext extends ConditionalOnEvaluationContextBase {
+    private final ConditionalOnEvaluationContext sharedContext;
+
+    SharedUserDataContext(PsiClass autoConfigClass, Module module, Set<String> activeProfiles,
+            NotNullLazyValue<List<VirtualFile>> configFilesCache, ConditionalOnEvaluationContext sharedContext) {
+      super(autoConfigClass, module, activeProfiles, configFilesCache, null);
+      this.sharedContext = sharedContext;
+    }
+
+    @Nullable
+    @Override
+    public <T> T getUserData(Key<T> key) {
+      return sharedContext.getUserData(key);
+    }
+
+    @Override
+    public <T> void putUserData(Key<T> key, @Nullable T value) {
+      sharedContext.putUserData(key, value);
+    }
+
+    @Override
+    public <T> T putUserDataIfAbsent(Key<T> key, T value) {
+      return sharedContext.putUserDataIfAbsent(key, value);
+    }
+
+    @Override
+    public <T> boolean replace(Key<T> key, @Nullable T oldValue, @Nullable T newValue) {
+      return sharedContext.replace(key, oldValue, newValue);
+    }
+  }
 }
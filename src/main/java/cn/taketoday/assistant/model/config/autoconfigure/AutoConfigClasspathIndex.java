@@ -0,0 +1,82 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.model.config.autoconfigure;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.containers.ConcurrentFactoryMap;
+
+import java.util.Map;
+
+import cn.taketoday.assistant.InfraModificationTrackersManager;
+
+/**
+ * Module runtime classpath view used to check auto-configuration candidates
+ * against their indexed {@code ConditionalOnClass} metadata.
+ * <p>
+ * Class existence lookups are memoized per classpath, so candidates sharing
+ * conditional classes resolve them only once.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class AutoConfigClasspathIndex {
+  private static final Key<CachedValue<AutoConfigClasspathIndex>> KEY = Key.create("AutoConfigClasspathIndex");
+
+  private final Map<String, Boolean> existingClasses;
+
+  private AutoConfigClasspathIndex(Module module) {
+    Project project = module.getProject();
+    GlobalSearchScope scope = GlobalSearchScope.moduleRuntimeScope(module, false);
+    JavaPsiFacade javaPsiFacade = JavaPsiFacade.getInstance(project);
+    this.existingClasses = ConcurrentFactoryMap.createMap(fqn -> javaPsiFacade.findClass(fqn, scope) != null);
+  }
+
+  static AutoConfigClasspathIndex of(Module module) {
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, KEY, () -> {
+      Object[] dependencies = InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module);
+      return CachedValueProvider.Result.create(new AutoConfigClasspathIndex(module), dependencies);
+    }, false);
+  }
+
+  boolean hasClass(String fqn) {
+    return existingClasses.get(fqn);
+  }
+
+  /**
+   * @return {@code true} if all classes required by {@code ConditionalOnClass} are on the classpath
+   */
+  boolean passesConditionalOnClass(AutoConfigureMetadataIndex.AutoConfigureMetadata metadata) {
+    for (String conditionalClass : metadata.getConditionalOnClass()) {
+      if (!hasClass(conditionalClass)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.model.config.autoconfigure;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.Pair;
+import com.intellij.psi.PsiCompiledElement;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.containers.ConcurrentFactoryMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.taketoday.assistant.InfraModificationTrackersManager;
+import cn.taketoday.assistant.impl.InfraOuterModelsModificationTracker.ConfigKind;
+import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionOutcome;
+import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
+import cn.taketoday.assistant.model.config.autoconfigure.conditions.jam.ConditionalOnJamElement;
+
+/**
+ * Outcomes of {@link ConditionalOnJamElement.ClasspathDependent classpath-only} conditions
+ * declared in libraries, shared by all modules with the same classpath fingerprint.
+ * <p>
+ * Unlike property- or bean-dependent conditions, these outcomes survive rebuilds of
+ * auto-configuration models caused by configuration changes. Conditions declared in
+ * project sources are always evaluated directly.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class ClasspathConditionOutcomes {
+  private static final Key<CachedValue<Map<String, ClasspathConditionOutcomes>>> OUTCOMES_KEY = Key.create("ClasspathConditionOutcomes");
+  private static final Key<CachedValue<String>> FINGERPRINT_KEY = Key.create("ClasspathConditionOutcomes.fingerprint");
+
+  private final Map<Pair<PsiModifierListOwner, Class<?>>, ConditionOutcome> outcomes = new ConcurrentHashMap<>();
+
+  static ConditionOutcome matches(ConditionalOnJamElement condition, PsiModifierListOwner owner, ConditionalOnEvaluationContext context) {
+    if (!(condition instanceof ConditionalOnJamElement.ClasspathDependent) || !(owner instanceof PsiCompiledElement)) {
+      return condition.matches(context);
+    }
+    Map<Pair<PsiModifierListOwner, Class<?>>, ConditionOutcome> outcomes = of(context.getModule()).outcomes;
+    Pair<PsiModifierListOwner, Class<?>> key = Pair.create(owner, condition.getClass());
+    ConditionOutcome outcome = outcomes.get(key);
+    if (outcome != null) {
+      return outcome;
+    }
+    // evaluated outside of map locks, concurrent evaluations of the same condition agree on the outcome
+    outcome = condition.matches(context);
+    ConditionOutcome existing = outcomes.putIfAbsent(key, outcome);
+    return existing != null ? existing : outcome;
+  }
+
+  private static ClasspathConditionOutcomes of(Module module) {
+    Project project = module.getProject();
+    Map<String, ClasspathConditionOutcomes> byFingerprint = CachedValuesManager.getManager(project).getCachedValue(project, OUTCOMES_KEY, () -> {
+      // classes created or removed in project sources are tracked as java config changes
+      return CachedValueProvider.Result.create(
+              ConcurrentFactoryMap.createMap(fingerprint -> new ClasspathConditionOutcomes()),
+              ProjectRootManager.getInstance(project),
+              DumbService.getInstance(project).getModificationTracker(),
+              InfraModificationTrackersManager.from(project).getOuterModelsModificationTracker(ConfigKind.JAVA_CONFIG));
+    }, false);
+    return byFingerprint.get(getFingerprint(module));
+  }
+
+  /**
+   * Library roots and output roots of dependency modules; the module's own sources
+   * are left out so that modules sharing one set of dependencies share outcomes.
+   */
+  private static String getFingerprint(Module module) {
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, FINGERPRINT_KEY, () -> {
+      String[] urls = OrderEnumerator.orderEntries(module)
+              .withoutModuleSourceEntries()
+              .recursively()
+              .runtimeOnly()
+              .productionOnly()
+              .classes()
+              .getUrls();
+      Arrays.sort(urls);
+      String fingerprint = urls.length + ":" + Integer.toHexString(Arrays.hashCode(urls));
+      return CachedValueProvider.Result.create(fingerprint, ProjectRootManager.getInstance(module.getProject()));
+    }, false);
+  }
+
+}
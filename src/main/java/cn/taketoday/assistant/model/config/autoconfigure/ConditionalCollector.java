@@ -60,6 +60,10 @@ final class ConditionalCollector {
     return new ConditionalCollector(psiMethod);
   }
 
+  PsiModifierListOwner getOwner() {
+    return this.myOwner;
+  }
+
   Collection<ConditionalOnJamElement> getConditionals() {
     List<JamMemberMeta> allConditionalMeta = SemService.getSemService(this.myOwner.getProject()).getSemElements(MEMBER_META_KEY, this.myOwner);
     if (allConditionalMeta.isEmpty()) {
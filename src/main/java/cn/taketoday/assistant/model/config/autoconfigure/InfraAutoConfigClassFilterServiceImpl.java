@@ -21,38 +21,21 @@
 package cn.taketoday.assistant.model.config.autoconfigure;
 
 import com.intellij.openapi.module.Module;
-import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.search.GlobalSearchScope;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 class InfraAutoConfigClassFilterServiceImpl extends InfraAutoConfigClassFilterService {
 
   @Override
   public List<PsiClass> filterByConditionalOnClass(Module module, List<PsiClass> configs) {
-    GlobalSearchScope searchScope = GlobalSearchScope.moduleRuntimeScope(module, false);
-    JavaPsiFacade javaPsiFacade = JavaPsiFacade.getInstance(module.getProject());
+    AutoConfigClasspathIndex classpathIndex = AutoConfigClasspathIndex.of(module);
     List<PsiClass> enabled = new ArrayList<>(configs.size() / 2);
     for (PsiClass config : configs) {
       AutoConfigureMetadataIndex.AutoConfigureMetadata metadata = AutoConfigureMetadataIndex.findMetadata(config);
       if (metadata != null) {
-        boolean foundAll = true;
-        Iterator<String> it = metadata.getConditionalOnClass().iterator();
-        while (true) {
-          if (!it.hasNext()) {
-            break;
-          }
-          String conditionalClass = it.next();
-          PsiClass aClass = javaPsiFacade.findClass(conditionalClass, searchScope);
-          if (aClass == null) {
-            foundAll = false;
-            break;
-          }
-        }
-        if (foundAll) {
+        if (classpathIndex.passesConditionalOnClass(metadata)) {
           enabled.add(config);
         }
       }
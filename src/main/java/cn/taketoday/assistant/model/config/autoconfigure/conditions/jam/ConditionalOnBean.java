@@ -41,7 +41,7 @@ import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionMes
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionOutcome;
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
 
-public class ConditionalOnBean extends ConditionalOnBeanBase implements ConditionalOnJamElement.NonStrict {
+public class ConditionalOnBean extends ConditionalOnBeanBase implements ConditionalOnJamElement.NonStrict, ConditionalOnJamElement.BeanDependent {
   private static final JamAnnotationMeta ANNOTATION_META = new JamAnnotationMeta(InfraConfigConstant.CONDITIONAL_ON_BEAN, ARCHETYPE);
   private static final SemKey<ConditionalOnBean> SEM_KEY = CONDITIONAL_JAM_ELEMENT_KEY.subKey("ConditionalOnBean");
   public static final JamClassMeta<ConditionalOnBean> CLASS_META = new JamClassMeta<>(null, ConditionalOnBean.class, SEM_KEY).addAnnotation(ANNOTATION_META);
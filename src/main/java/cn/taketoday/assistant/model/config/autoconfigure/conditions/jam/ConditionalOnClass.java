@@ -48,7 +48,7 @@ import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionOut
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
 import cn.taketoday.assistant.model.config.jam.StringLiteralPsiClassConverter;
 
-public class ConditionalOnClass extends JamBaseElement<PsiModifierListOwner> implements ConditionalOnJamElement {
+public class ConditionalOnClass extends JamBaseElement<PsiModifierListOwner> implements ConditionalOnJamElement.ClasspathDependent {
   private static final JamClassAttributeMeta.Collection VALUE_ATTRIBUTE = JamClassAttributeMeta.Collection.CLASS_COLLECTION_VALUE_META;
   private static final JamStringAttributeMeta.Collection<PsiClass> NAME_ATTRIBUTE = JamAttributeMeta.collectionString(InfraMetadataConstant.NAME, new StringLiteralPsiClassConverter());
   private static final JamAnnotationMeta ANNOTATION_META = new JamAnnotationMeta(InfraConfigConstant.CONDITIONAL_ON_CLASS).addAttribute(VALUE_ATTRIBUTE)
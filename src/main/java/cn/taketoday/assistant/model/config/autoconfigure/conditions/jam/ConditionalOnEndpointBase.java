@@ -37,6 +37,7 @@ import com.intellij.util.SmartList;
 import com.intellij.util.containers.ContainerUtil;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import cn.taketoday.assistant.app.application.metadata.InfraApplicationMetaConfigKeyManager;
@@ -166,12 +167,16 @@ abstract class ConditionalOnEndpointBase implements ConditionalOnJamElement {
     }
 
     public Collection<MetaConfigKey> getVariants(JamStringAttributeElement<MetaConfigKey> context) {
-      List<? extends MetaConfigKey> allKeys = InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(context.getPsiElement());
+      Module module = ModuleUtilCore.findModuleForPsiElement(context.getPsiElement());
+      if (module == null) {
+        return Collections.emptyList();
+      }
+      var registry = InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module);
       SmartList smartList = new SmartList();
-      for (MetaConfigKey key : allKeys) {
+      for (MetaConfigKey key : registry.findKeysWithPrefix(this.myConfigKeyPrefix)) {
         if (key.isAccessType(MetaConfigKey.AccessType.NORMAL)) {
           String name = key.getName();
-          if (StringUtil.startsWith(name, this.myConfigKeyPrefix) && StringUtil.endsWith(name, this.myConfigKeySuffix)) {
+          if (StringUtil.endsWith(name, this.myConfigKeySuffix)) {
             smartList.add(key);
           }
         }
@@ -44,4 +44,22 @@ public interface ConditionalOnJamElement extends InfraConditional {
       return ConditionOutcome.noMatch("Strict Mode (cannot evaluate)");
     }
   }
+
+  /**
+   * Marks conditions whose outcome depends only on classes available on the classpath,
+   * not on configuration values or beans. Their outcomes may be shared between
+   * model rebuilds and between modules with the same dependencies.
+   */
+  interface ClasspathDependent extends ConditionalOnJamElement {
+
+  }
+
+  /**
+   * Marks conditions matching beans of the {@link ConditionalOnEvaluationContext#MODEL_KEY model}
+   * built so far, so their outcome depends on the order auto-configurations are applied in.
+   * All other conditions may be evaluated in any order or concurrently.
+   */
+  interface BeanDependent extends ConditionalOnJamElement {
+
+  }
 }
@@ -50,7 +50,7 @@ import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionOut
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
 import cn.taketoday.assistant.model.config.jam.StringLiteralPsiClassConverter;
 
-public class ConditionalOnMissingBean extends ConditionalOnBeanBase implements ConditionalOnJamElement.NonStrict {
+public class ConditionalOnMissingBean extends ConditionalOnBeanBase implements ConditionalOnJamElement.NonStrict, ConditionalOnJamElement.BeanDependent {
   private static final JamClassAttributeMeta.Collection IGNORED_ATTRIBUTE = JamAttributeMeta.classCollection("ignored");
   private static final JamStringAttributeMeta.Collection<PsiClass> IGNORED_TYPE_ATTRIBUTE = JamAttributeMeta.collectionString("ignoredType", new StringLiteralPsiClassConverter());
   private static final JamAnnotationMeta ANNOTATION_META = new JamAnnotationMeta(InfraConfigConstant.CONDITIONAL_ON_MISSING_BEAN, ARCHETYPE).addAttribute(IGNORED_ATTRIBUTE)
@@ -43,7 +43,7 @@ import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionOut
 import cn.taketoday.assistant.model.config.autoconfigure.conditions.ConditionalOnEvaluationContext;
 import cn.taketoday.assistant.model.config.jam.StringLiteralPsiClassConverter;
 
-public class ConditionalOnMissingClass extends JamBaseElement<PsiModifierListOwner> implements ConditionalOnJamElement {
+public class ConditionalOnMissingClass extends JamBaseElement<PsiModifierListOwner> implements ConditionalOnJamElement.ClasspathDependent {
   private static final JamStringAttributeMeta.Collection<PsiClass> VALUE_ATTRIBUTE = JamAttributeMeta.collectionString("value", new StringLiteralPsiClassConverter());
   private static final JamAnnotationMeta ANNOTATION_META = new JamAnnotationMeta(InfraConfigConstant.CONDITIONAL_ON_MISSING_CLASS).addAttribute(VALUE_ATTRIBUTE);
   private static final SemKey<ConditionalOnMissingClass> SEM_KEY = CONDITIONAL_JAM_ELEMENT_KEY.subKey("ConditionalOnMissingClass");
@@ -62,6 +62,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import cn.taketoday.assistant.Icons;
@@ -234,10 +235,10 @@ public class ConditionalOnProperty extends JamBaseElement<PsiModifierListOwner>
       String prefix = StringUtil.notNullize(getPrefixValueForName(context));
       PsiAnnotationMemberValue psiElement = context.getPsiElement();
       if (psiElement != null && (module = ModuleUtilCore.findModuleForPsiElement(psiElement)) != null) {
-        List<? extends MetaConfigKey> allKeys = InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(module);
+        List<MetaConfigKey> candidates = InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module).findRelaxedPrefixCandidates(prefix);
         MetaConfigKeyManager.ConfigKeyNameBinder binder = InfraApplicationMetaConfigKeyManager.of().getConfigKeyNameBinder(module);
         SmartList smartList = new SmartList();
-        for (MetaConfigKey key : allKeys) {
+        for (MetaConfigKey key : candidates) {
           if (isValidKey(key) && (prefix.isEmpty() || binder.matchesPrefix(key, prefix))) {
             smartList.add(key);
           }
@@ -270,13 +271,16 @@ public class ConditionalOnProperty extends JamBaseElement<PsiModifierListOwner>
     }
 
     public Collection<String> getVariants(JamStringAttributeElement<String> context) {
-      int lastDot;
-      List<? extends MetaConfigKey> keys = InfraApplicationMetaConfigKeyManager.of().getAllMetaConfigKeys(context.getPsiElement());
+      PsiAnnotationMemberValue psiElement = context.getPsiElement();
+      Module module = psiElement != null ? ModuleUtilCore.findModuleForPsiElement(psiElement) : null;
+      if (module == null) {
+        return Collections.emptyList();
+      }
+      Map<String, List<MetaConfigKey>> keysByPrefix = InfraApplicationMetaConfigKeyManager.of().getMetaConfigKeyRegistry(module).getKeysByPrefix();
       Set<String> prefixes = new LinkedHashSet<>();
-      for (MetaConfigKey key : keys) {
-        if (isValidKey(key) && (lastDot = key.getName().lastIndexOf(46)) != -1) {
-          String keyPrefix = key.getName().substring(0, lastDot);
-          prefixes.add(keyPrefix);
+      for (Map.Entry<String, List<MetaConfigKey>> entry : keysByPrefix.entrySet()) {
+        if (ContainerUtil.exists(entry.getValue(), ConditionalOnProperty::isValidKey)) {
+          prefixes.add(entry.getKey());
         }
       }
       return prefixes;
@@ -56,7 +56,7 @@ import cn.taketoday.assistant.model.config.jam.StringLiteralPsiClassConverter;
 import cn.taketoday.assistant.model.utils.InfraModelSearchers;
 import cn.taketoday.lang.Nullable;
 
-public class ConditionalOnSingleCandidate extends JamBaseElement<PsiModifierListOwner> implements ConditionalOnJamElement.NonStrict {
+public class ConditionalOnSingleCandidate extends JamBaseElement<PsiModifierListOwner> implements ConditionalOnJamElement.NonStrict, ConditionalOnJamElement.BeanDependent {
   private static final JamClassAttributeMeta.Single VALUE_ATTRIBUTE = JamAttributeMeta.singleClass("value");
   private static final JamStringAttributeMeta.Single<PsiClass> TYPE_ATTRIBUTE = JamAttributeMeta.singleString(InfraMetadataConstant.TYPE, new StringLiteralPsiClassConverter());
   private static final JamEnumAttributeMeta.Single<ConditionalOnBeanBase.SearchStrategy> SEARCH_STRATEGY_ATTRIBUTE = JamAttributeMeta.singleEnum(
@@ -78,7 +78,7 @@ public class ConfigurationPropertiesScan extends InfraJamComponentScan {
           smartList.add(ConfigurationPropertiesDiscoverer.createConfigurationPropertiesBean(configurationProperties, psiClass));
         }
       }
-      return CachedValueProvider.Result.create(smartList, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies());
+      return CachedValueProvider.Result.create(smartList, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
     });
   }
 }
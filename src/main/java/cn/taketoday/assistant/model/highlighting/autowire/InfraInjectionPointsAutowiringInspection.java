@@ -119,6 +119,7 @@ import cn.taketoday.assistant.InfraConstant;
 import cn.taketoday.assistant.InfraPresentationProvider;
 import cn.taketoday.assistant.JavaeeConstant;
 import cn.taketoday.assistant.beans.AutowireUtil;
+import cn.taketoday.assistant.beans.ClassInjectionPoints;
 import cn.taketoday.assistant.code.AbstractInfraLocalInspection;
 import cn.taketoday.assistant.context.chooser.InfraContextDescriptor;
 import cn.taketoday.assistant.context.chooser.InfraMultipleContextsManager;
@@ -148,17 +149,18 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
 
   public ProblemDescriptor[] checkMethod(UMethod uMethod, InspectionManager manager, boolean isOnTheFly) {
     CommonInfraModel model;
+    ClassInjectionPoints injectionPoints;
     PsiMethod psiMethod = uMethod.getJavaPsi();
     PsiClass psiClass = psiMethod.getContainingClass();
     PsiElement sourcePsi = uMethod.getSourcePsi();
-    if (sourcePsi != null && AutowireUtil.isAutowiringRelevantClass(psiClass) && AutowireUtil.isInjectionPoint(psiMethod) && (model = AutowireUtil.getProcessingInfraModel(
-            psiClass)) != null) {
+    if (sourcePsi != null && AutowireUtil.isAutowiringRelevantClass(psiClass) && AutowireUtil.isInjectionPoint(psiMethod)
+            && (model = (injectionPoints = ClassInjectionPoints.of(psiClass)).getModel()) != null) {
       ProblemsHolder holder = new ProblemsHolder(manager, sourcePsi.getContainingFile(), isOnTheFly);
       boolean required = AutowireUtil.isRequired(psiMethod);
       if (AutowireUtil.getResourceAnnotation(psiMethod) != null) {
-        checkResourceMethod(uMethod, holder, model, required);
+        checkResourceMethod(uMethod, holder, injectionPoints, required);
       }
-      else if (psiMethod.getParameterList().getParametersCount() == 0 && AutowireUtil.isAutowiredByAnnotation(psiMethod)) {
+      else if (psiMethod.getParameterList().getParametersCount() == 0 && injectionPoints.isAutowiredByAnnotation(psiMethod)) {
         PsiElement nameIdentifier = UElementKt.getSourcePsiElement(uMethod.getUastAnchor());
         if (nameIdentifier != null) {
           String msg = InfraBundle.message("bean.autowiring.by.type.no.parameter.for.autowired.method", JavaElementKind.fromElement(psiMethod).subject());
@@ -185,7 +187,7 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
         pointers.add(pointer);
         Set<BeanPointer<?>> filtered = filterConditionalBeans(model, pointers);
         if (!filtered.isEmpty()) {
-          checkAutowiredMethodInjections(uMethod, holder, model, required);
+          checkAutowiredMethodInjections(uMethod, holder, injectionPoints, required);
         }
       }
       return holder.getResultsArray();
@@ -195,12 +197,14 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
 
   public ProblemDescriptor[] checkField(UField uField, InspectionManager manager, boolean isOnTheFly) {
     PsiField psiField = UElementKt.getAsJavaPsiElement(uField, PsiField.class);
-    if (psiField != null && AutowireUtil.isAutowiringRelevantClass(psiField.getContainingClass()) && AutowireUtil.isAutowiredByAnnotation(psiField)) {
-      CommonInfraModel model = AutowireUtil.getProcessingInfraModel(psiField.getContainingClass());
+    PsiClass psiClass = psiField == null ? null : psiField.getContainingClass();
+    ClassInjectionPoints injectionPoints;
+    if (psiClass != null && AutowireUtil.isAutowiringRelevantClass(psiClass)
+            && (injectionPoints = ClassInjectionPoints.of(psiClass)).isAutowiredByAnnotation(psiField)) {
       PsiElement sourcePsi = uField.getSourcePsi();
-      if (model != null && sourcePsi != null) {
+      if (injectionPoints.getModel() != null && sourcePsi != null) {
         ProblemsHolder holder = new ProblemsHolder(manager, sourcePsi.getContainingFile(), isOnTheFly);
-        checkInjectionPoint(uField, psiField.getType(), holder, model, AutowireUtil.isRequired(psiField));
+        checkInjectionPoint(uField, psiField.getType(), holder, injectionPoints, AutowireUtil.isRequired(psiField));
         return holder.getResultsArray();
       }
       return null;
@@ -208,7 +212,7 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
     return null;
   }
 
-  private static void checkAutowiredMethodInjections(UMethod psiMethod, ProblemsHolder holder, CommonInfraModel infraModel, boolean requiredForMethod) {
+  private static void checkAutowiredMethodInjections(UMethod psiMethod, ProblemsHolder holder, ClassInjectionPoints injectionPoints, boolean requiredForMethod) {
     if (isBeanFactoryInitializationCandidate(psiMethod)) {
       return;
     }
@@ -216,7 +220,7 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
       PsiElement param = parameter.getSourcePsi();
       if (param instanceof PsiParameter psiParameter
               && !AutowireUtil.isValueAnnoInjection(psiParameter)) {
-        checkInjectionPoint(parameter, parameter.getType(), holder, infraModel, requiredForMethod
+        checkInjectionPoint(parameter, parameter.getType(), holder, injectionPoints, requiredForMethod
                 && AutowireUtil.isRequired(psiParameter) && !isNullableParameter(psiParameter));
       }
     }
@@ -261,22 +265,26 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
     return AnnotationUtil.isAnnotated(psi, AnnotationConstant.NULLABLE, 0);
   }
 
-  private static void checkResourceMethod(UMethod psiMethod, ProblemsHolder holder, CommonInfraModel infraModel, boolean required) {
+  private static void checkResourceMethod(UMethod psiMethod, ProblemsHolder holder, ClassInjectionPoints injectionPoints, boolean required) {
     PsiType type = PropertyUtilBase.getPropertyType(psiMethod.getJavaPsi());
     if (type != null) {
-      checkInjectionPoint(psiMethod, type, holder, infraModel, required);
+      checkInjectionPoint(psiMethod, type, holder, injectionPoints, required);
     }
   }
 
-  public static void checkInjectionPoint(UDeclaration uDeclaration, PsiType psiType, ProblemsHolder holder, CommonInfraModel infraModel, boolean required) {
+  /**
+   * @param injectionPoints injection points of the declaration class, having processing model
+   */
+  public static void checkInjectionPoint(UDeclaration uDeclaration, PsiType psiType, ProblemsHolder holder, ClassInjectionPoints injectionPoints, boolean required) {
     PsiModifierListOwner psiModifierListOwner;
-    if (psiType.isValid() && (psiModifierListOwner = UElementKt.getAsJavaPsiElement(uDeclaration, PsiModifierListOwner.class)) != null) {
+    CommonInfraModel infraModel = injectionPoints.getModel();
+    if (infraModel != null && psiType.isValid() && (psiModifierListOwner = UElementKt.getAsJavaPsiElement(uDeclaration, PsiModifierListOwner.class)) != null) {
       PsiAnnotation resourceAnnotation = AutowireUtil.getResourceAnnotation(psiModifierListOwner);
       if (resourceAnnotation != null && (psiModifierListOwner instanceof PsiMember)) {
         checkResourceInjectionPoint(psiType, holder, infraModel, resourceAnnotation);
         return;
       }
-      UAnnotation annotation = getEffectiveQualifiedUAnnotation(uDeclaration);
+      UAnnotation annotation = getEffectiveQualifiedUAnnotation(uDeclaration, injectionPoints);
       if (annotation != null) {
         checkQualifiedAutowiring(psiType, annotation, holder, infraModel, required);
       }
@@ -287,10 +295,10 @@ public final class InfraInjectionPointsAutowiringInspection extends AbstractInfr
   }
 
   @Nullable
-  private static UAnnotation getEffectiveQualifiedUAnnotation(UDeclaration uDeclaration) {
+  private static UAnnotation getEffectiveQualifiedUAnnotation(UDeclaration uDeclaration, ClassInjectionPoints injectionPoints) {
     PsiAnnotation annotation;
     PsiModifierListOwner psiModifierListOwner = UElementKt.getAsJavaPsiElement(uDeclaration, PsiModifierListOwner.class);
-    if (psiModifierListOwner == null || (annotation = AutowireUtil.getEffectiveQualifiedAnnotation(psiModifierListOwner)) == null) {
+    if (psiModifierListOwner == null || (annotation = injectionPoints.getEffectiveQualifiedAnnotation(psiModifierListOwner)) == null) {
       return null;
     }
     UAnnotation qualifiedAnnotation = null;
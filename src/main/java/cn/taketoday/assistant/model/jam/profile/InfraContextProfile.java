@@ -24,21 +24,25 @@ import com.intellij.jam.JamService;
 import com.intellij.jam.JamStringAttributeElement;
 import com.intellij.jam.reflect.JamAnnotationMeta;
 import com.intellij.jam.reflect.JamMemberMeta;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.text.DelimitedListProcessor;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiMember;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.semantic.SemKey;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import cn.taketoday.assistant.model.InfraProfile;
-import cn.taketoday.assistant.profiles.InfraProfilesFactory;
-import cn.taketoday.assistant.profiles.InfraProfilesFactory.MalformedProfileExpressionException;
+import cn.taketoday.assistant.profiles.ActiveProfiles;
+import cn.taketoday.assistant.profiles.ProfileExpression;
 import cn.taketoday.lang.Nullable;
 
 public interface InfraContextProfile extends JamElement, InfraProfile {
@@ -48,6 +52,8 @@ public interface InfraContextProfile extends JamElement, InfraProfile {
   SemKey<InfraContextProfile> CONTEXT_PROFILE_JAM_KEY = JamService.JAM_ELEMENT_KEY.subKey("InfraContextProfile");
   SemKey<JamMemberMeta> CONTEXT_PROFILE_META_KEY = JamService.getMetaKey(CONTEXT_PROFILE_JAM_KEY);
 
+  Key<CachedValue<ProfileExpression>> COMPILED_EXPRESSION_KEY = Key.create("InfraContextProfile.compiledExpression");
+
   @Nullable
   PsiMember getPsiElement();
 
@@ -78,13 +84,23 @@ public interface InfraContextProfile extends JamElement, InfraProfile {
 
   @Override
   default boolean matches(Set<String> activeProfiles) {
-    try {
-      Predicate<Set<String>> profiles =
-              InfraProfilesFactory.of().parseProfileExpressions(getExpressions());
-      return profiles.test(activeProfiles);
-    }
-    catch (MalformedProfileExpressionException e) {
-      return false;
+    return matches(ActiveProfiles.of(activeProfiles));
+  }
+
+  @Override
+  default boolean matches(ActiveProfiles activeProfiles) {
+    return getCompiledExpression().matches(activeProfiles);
+  }
+
+  /**
+   * Compiled expressions are cached on the annotation, values may refer to constants declared elsewhere.
+   */
+  default ProfileExpression getCompiledExpression() {
+    PsiAnnotation annotation = getAnnotation();
+    if (annotation == null) {
+      return ProfileExpression.compile(getExpressions());
     }
+    return CachedValuesManager.getCachedValue(annotation, COMPILED_EXPRESSION_KEY, () ->
+            CachedValueProvider.Result.create(ProfileExpression.compile(getExpressions()), PsiModificationTracker.MODIFICATION_COUNT));
   }
 }
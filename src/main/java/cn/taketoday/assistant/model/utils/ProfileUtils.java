@@ -39,6 +39,7 @@ import cn.taketoday.assistant.facet.InfraFileSetService;
 import cn.taketoday.assistant.model.CommonInfraBean;
 import cn.taketoday.assistant.model.InfraProfile;
 import cn.taketoday.assistant.model.xml.beans.Beans;
+import cn.taketoday.assistant.profiles.ActiveProfiles;
 import cn.taketoday.lang.Nullable;
 
 import static com.intellij.util.containers.ContainerUtil.isEmpty;
@@ -94,11 +95,16 @@ public final class ProfileUtils {
     if (isEmptyOrTestDefault(activeProfiles))
       return new SmartList<>(allBeans);
 
-    return ContainerUtil.filter(allBeans, bean -> bean.isValid() && bean.getProfile().matches(activeProfiles));
+    ActiveProfiles profiles = ActiveProfiles.of(activeProfiles);
+    return ContainerUtil.filter(allBeans, bean -> bean.isValid() && bean.getProfile().matches(profiles));
   }
 
   public static boolean isInActiveProfiles(CommonInfraBean bean, @Nullable Set<String> activeProfiles) {
-    return isEmptyOrTestDefault(activeProfiles) || bean.getProfile().matches(activeProfiles);
+    return isEmptyOrTestDefault(activeProfiles) || bean.getProfile().matches(ActiveProfiles.of(activeProfiles));
+  }
+
+  public static boolean isInActiveProfiles(CommonInfraBean bean, ActiveProfiles activeProfiles) {
+    return activeProfiles.isEmptyOrTestDefault() || bean.getProfile().matches(activeProfiles);
   }
 
   public static boolean isEmptyOrTestDefault(@Nullable Set<String> activeProfiles) {
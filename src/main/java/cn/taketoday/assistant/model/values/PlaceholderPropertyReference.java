@@ -206,7 +206,7 @@ public class PlaceholderPropertyReference extends PropertyReferenceBase implemen
     Module module = infraModel.getModule();
     if (module != null && (infraModel instanceof UserDataHolder)) {
       emptyList = CachedValuesManager.getManager(module.getProject()).getCachedValue((UserDataHolder) infraModel, () -> {
-        return CachedValueProvider.Result.create(getFiles(infraModel), InfraModificationTrackersManager.from(infraModel.getModule().getProject()).getOuterModelsDependencies());
+        return CachedValueProvider.Result.create(getFiles(infraModel), InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
       });
     }
     else {
@@ -297,7 +297,7 @@ public class PlaceholderPropertyReference extends PropertyReferenceBase implemen
       for (PropertySources propertySources : jamService.getJamClassElements(PropertySources.META, AnnotationConstant.PROPERTY_SOURCES, scope)) {
         smartList.addAll(propertySources.getPropertySources());
       }
-      return CachedValueProvider.Result.create(smartList, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies());
+      return CachedValueProvider.Result.create(smartList, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
     });
   }
 
@@ -402,7 +402,7 @@ public class PlaceholderPropertyReference extends PropertyReferenceBase implemen
     ContainerUtil.addAll(dependencies,
             module == null
             ? new Object[] { ModificationTracker.EVER_CHANGED }
-            : InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies());
+            : InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
     return ArrayUtil.toObjectArray(dependencies);
   }
 
@@ -20,8 +20,13 @@
 package cn.taketoday.assistant.model.xml.beans;
 
 import com.intellij.jam.model.common.CommonModelElement;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.xml.Convert;
 import com.intellij.util.xml.GenericAttributeValue;
@@ -33,12 +38,15 @@ import java.util.Set;
 
 import cn.taketoday.assistant.model.InfraProfile;
 import cn.taketoday.assistant.model.converters.InfraProfileConverter;
+import cn.taketoday.assistant.profiles.ActiveProfiles;
+import cn.taketoday.assistant.profiles.ProfileExpression;
 
 /**
  * @author Sergey Vasiliev
  */
 @Convert(InfraProfileConverter.class)
 public abstract class InfraDomProfile implements GenericAttributeValue<List<String>>, InfraProfile, CommonModelElement {
+  private static final Key<CachedValue<ProfileExpression>> COMPILED_EXPRESSION_KEY = Key.create("InfraDomProfile.compiledExpression");
 
   @Override
   public PsiElement getIdentifyingPsiElement() {
@@ -69,21 +77,20 @@ public abstract class InfraDomProfile implements GenericAttributeValue<List<Stri
 
   @Override
   public boolean matches(Set<String> activeProfiles) {
-    Set<String> profiles = getExpressions();
-    if (InfraProfile.DEFAULT_PROFILE_NAME.equals(ContainerUtil.getOnlyItem(profiles)))
-      return true;
+    return matches(ActiveProfiles.of(activeProfiles));
+  }
 
-    for (String profile : profiles) {
-      if (profile.startsWith("!")) {
-        String notProfile = profile.substring(1);
-        if (!activeProfiles.contains(notProfile)) {
-          return true;
-        }
-      }
-      else if (activeProfiles.contains(profile)) {
-        return true;
-      }
+  @Override
+  public boolean matches(ActiveProfiles activeProfiles) {
+    return getCompiledExpression().matches(activeProfiles);
+  }
+
+  private ProfileExpression getCompiledExpression() {
+    XmlAttribute attribute = getXmlAttribute();
+    if (attribute == null) {
+      return ProfileExpression.compileNames(getExpressions());
     }
-    return false;
+    return CachedValuesManager.getCachedValue(attribute, COMPILED_EXPRESSION_KEY, () ->
+            CachedValueProvider.Result.create(ProfileExpression.compileNames(getExpressions()), attribute));
   }
 }
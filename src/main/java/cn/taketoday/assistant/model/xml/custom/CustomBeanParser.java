@@ -34,13 +34,24 @@ import java.util.logging.Logger;
 public final class CustomBeanParser {
   public static final String MAGIC = "\n\n##$%^$&%@^#%$#%^&$^&%*&^(*(^&*(&^*&%*&%&*^\n";
 
+  /**
+   * First line of every response frame, followed by the id of the request it answers.
+   */
+  public static final String REQUEST_HEADER = "request ";
+
+  /**
+   * Id of the request being parsed, inherited by threads started while parsing it,
+   * so that their late output is attributed to that request.
+   */
+  private static final InheritableThreadLocal<String> REQUEST_ID = new InheritableThreadLocal<>();
+
   public static void main(String[] args) {
     Logger.getLogger("").setLevel(Level.FINE);
     Logger.getLogger("").addHandler(new Handler() {
       @Override
       public void publish(LogRecord record) {
         Throwable throwable = record.getThrown();
-        if (throwable != null) {
+        if (throwable != null && REQUEST_ID.get() != null) {
           printException(throwable);
         }
       }
@@ -56,10 +67,29 @@ public final class CustomBeanParser {
     BufferedReader input = new BufferedReader(new InputStreamReader(System.in));
     try {
       int timeout = Integer.parseInt(input.readLine());
-      while ("input".equals(input.readLine())) {
-        String tagText = decode(input.readLine());
-        CustomBeanParserUtil.parseCustomBean(tagText, timeout);
-        System.out.flush();
+      String command;
+      while ((command = input.readLine()) != null) {
+        if ("timeout".equals(command)) {
+          timeout = Integer.parseInt(input.readLine());
+        }
+        else if ("input".equals(command)) {
+          REQUEST_ID.set(input.readLine());
+          String tagText = decode(input.readLine());
+          try {
+            CustomBeanParserUtil.parseCustomBean(tagText, timeout);
+          }
+          catch (VirtualMachineError e) {
+            throw e;
+          }
+          catch (Throwable e) {
+            // reported as the result of this tag, next tags are parsed by the same process
+            printException(e);
+          }
+          System.out.flush();
+        }
+        else {
+          break;
+        }
       }
     }
     catch (Throwable e) {
@@ -84,10 +114,16 @@ public final class CustomBeanParser {
   }
 
   public static void printException(Throwable e) {
-    System.out.print("exception\n");
     StringWriter writer = new StringWriter();
     e.printStackTrace(new PrintWriter(writer));
-    System.out.print(encode(writer.toString()) + MAGIC);
+    printFrame("exception\n" + encode(writer.toString()));
+  }
+
+  /**
+   * Prints response frame for the current request in one call, so frames of different threads don't interleave.
+   */
+  static void printFrame(String body) {
+    System.out.print(REQUEST_HEADER + REQUEST_ID.get() + "\n" + body + MAGIC);
     System.out.flush();
   }
 
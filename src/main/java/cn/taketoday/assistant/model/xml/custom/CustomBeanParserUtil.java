@@ -55,23 +55,23 @@ public final class CustomBeanParserUtil {
     }
 
     if (result == null) {
-      System.out.print("timeout\n\n##$%^$&%@^#%$#%^&$^&%*&^(*(^&*(&^*&%*&%&*^\n");
+      CustomBeanParser.printFrame("timeout");
     }
     else {
-      System.out.print("result\n");
-      System.out.print(result.get(0));
+      StringBuilder frame = new StringBuilder("result\n");
+      frame.append(result.get(0));
 
       for (int i = 1; i < result.size(); ++i) {
         List<String> s2 = (List) result.get(i);
-        System.out.print("\ninfo\n");
+        frame.append("\ninfo\n");
         for (String s1 : s2) {
-          System.out.print(s1 + "\n");
+          frame.append(s1).append("\n");
         }
 
-        System.out.print("info_end");
+        frame.append("info_end");
       }
 
-      System.out.print("\n\n##$%^$&%@^#%$#%^&$^&%*&^(*(^&*(&^*&%*&%&*^\n");
+      CustomBeanParser.printFrame(frame.toString());
     }
   }
 
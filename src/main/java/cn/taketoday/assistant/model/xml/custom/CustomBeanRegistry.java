@@ -27,6 +27,7 @@ import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessOutputTypes;
 import com.intellij.jsp.JspSpiUtil;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
@@ -36,9 +37,9 @@ import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.JDOMUtil;
 import com.intellij.openapi.util.Key;
-import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
@@ -52,6 +53,7 @@ import com.intellij.util.IncorrectOperationException;
 import com.intellij.util.PathUtil;
 import com.intellij.util.PathsList;
 import com.intellij.util.SmartList;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.concurrency.Semaphore;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.xml.XmlAttributeDescriptor;
@@ -74,6 +76,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import cn.taketoday.assistant.model.xml.impl.CustomBeanWrapperImpl;
 import cn.taketoday.assistant.schemas.InfraSchemaProvider;
@@ -82,13 +86,15 @@ import cn.taketoday.lang.Nullable;
 import static cn.taketoday.assistant.InfraBundle.message;
 
 @State(name = "CustomBeanRegistry", storages = { @Storage("customInfraBeans.xml") })
-public final class CustomBeanRegistry implements PersistentStateComponent<CustomBeanRegistry.State> {
+public final class CustomBeanRegistry implements PersistentStateComponent<CustomBeanRegistry.State>, Disposable {
   private static final int CURRENT_VERSION = 1;
   private static final Logger LOG = Logger.getInstance(CustomBeanRegistry.class);
+  private static final long PARSER_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
 
   private static final String CUSTOM_BEAN_PARSER = "cn.taketoday.assistant.model.xml.custom.CustomBeanParser";
   private Map<String, List<CustomBeanInfo>> myText2Infos = new HashMap();
   private Map<MyQName, CustomBeanInfo> myPolicies = new HashMap();
+  private final Map<Module, ParserProcess> myParserProcesses = new ConcurrentHashMap<>();
 
   private static final String FAKE_ID = "IntelliJIDEARulezzz";
 
@@ -342,199 +348,359 @@ public final class CustomBeanRegistry implements PersistentStateComponent<Custom
     list.addVirtualFiles(OrderEnumerator.orderEntries(module).recursively().sources().usingCache().getRoots());
   }
 
-  private static ParseResult getCustomBeans(XmlTag tag, Module module) {
+  private ParseResult getCustomBeans(XmlTag tag, Module module) {
     Map<String, String> handlersToRun = findHandlersToRun(module, tag);
     String namespace = tag.getNamespace();
     if (!handlersToRun.containsKey(namespace)) {
       return new ParseResult(message("parse.no.namespace.handler", namespace));
     }
-    JavaParameters javaParameters = new JavaParameters();
-    javaParameters.setJdk(ModuleRootManager.getInstance(module).getSdk());
-    javaParameters.setMainClass(CUSTOM_BEAN_PARSER);
-    javaParameters.setUseClasspathJar(true);
-    if (isDebug()) {
-      javaParameters.getVMParametersList().addParametersString("-Xdebug -Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=5239");
-    }
-    computeUrls(module, javaParameters.getClassPath());
-    javaParameters.setUseDynamicClasspath(true);
+    ParserProcess process;
     try {
-      OSProcessHandler handler = new OSProcessHandler(javaParameters.toCommandLine());
+      process = getParserProcess(module);
+    }
+    catch (ExecutionException e) {
+      return new ParseResult(e);
+    }
+    synchronized(process) {
       try {
-        PrintWriter writer = new PrintWriter(handler.getProcessInput());
-        try {
-          handler.startNotify();
-          int timeout = Math.max(getTimeout(), tag.getTextLength() * 150);
-          writer.println(timeout);
-          ParseResult result = invokeParser(writer, handler, tag, timeout);
-          if (result.getStackTrace() != null && tag.getAttributeValue("id") == null) {
-            try {
-              tag.setAttribute("id", FAKE_ID);
-            }
-            catch (IncorrectOperationException e) {
-              LOG.error(e);
-            }
-            ParseResult result1 = invokeParser(writer, handler, tag, timeout);
-            List<CustomBeanInfo> list = result1.getBeans();
-            if (list != null) {
-              for (CustomBeanInfo info : list) {
-                if (FAKE_ID.equals(info.beanName) && info.path.isEmpty()) {
-                  info.beanName = null;
-                  info.idAttribute = "id";
-                }
+        int timeout = Math.max(getTimeout(), tag.getTextLength() * 150);
+        process.setTimeout(timeout);
+        ParseResult result = process.parse(tag, timeout);
+        if (result.getStackTrace() != null && tag.getAttributeValue("id") == null) {
+          try {
+            tag.setAttribute("id", FAKE_ID);
+          }
+          catch (IncorrectOperationException e) {
+            LOG.error(e);
+          }
+          ParseResult result1 = process.parse(tag, timeout);
+          List<CustomBeanInfo> list = result1.getBeans();
+          if (list != null) {
+            for (CustomBeanInfo info : list) {
+              if (FAKE_ID.equals(info.beanName) && info.path.isEmpty()) {
+                info.beanName = null;
+                info.idAttribute = "id";
               }
-              result = result1;
             }
+            result = result1;
           }
-          List<CustomBeanInfo> infos = result.getBeans();
-          if (infos != null) {
-            guessIdAttributeNames(writer, handler, tag, infos, timeout);
-          }
-          ParseResult parseResult = result;
-          writer.close();
-          handler.getProcess().destroy();
-          handler.waitFor();
-          return parseResult;
         }
-        catch (Throwable th) {
-          try {
-            writer.close();
-          }
-          catch (Throwable th2) {
-            th.addSuppressed(th2);
-          }
-          throw th;
+        List<CustomBeanInfo> infos = result.getBeans();
+        if (infos != null) {
+          guessIdAttributeNames(process, tag, infos, timeout);
         }
+        return result;
       }
-      catch (Throwable th3) {
-        handler.getProcess().destroy();
-        handler.waitFor();
-        throw th3;
+      finally {
+        if (process.isAlive()) {
+          scheduleIdleShutdown(module, process);
+        }
+        else {
+          myParserProcesses.remove(module, process);
+        }
       }
     }
-    catch (ExecutionException e2) {
-      return new ParseResult(e2);
+  }
+
+  /**
+   * Parser process of the module is started once and handles all tags of the module until
+   * module roots change, it dies or stays idle for {@link #PARSER_IDLE_TIMEOUT} ms.
+   */
+  private ParserProcess getParserProcess(Module module) throws ExecutionException {
+    long rootsModificationCount = ProjectRootManager.getInstance(module.getProject()).getModificationCount();
+    for (Map.Entry<Module, ParserProcess> entry : myParserProcesses.entrySet()) {
+      if (entry.getKey().isDisposed() && myParserProcesses.remove(entry.getKey(), entry.getValue())) {
+        entry.getValue().destroy();
+      }
     }
+    ParserProcess process = myParserProcesses.get(module);
+    if (process != null) {
+      if (process.isAlive() && process.rootsModificationCount == rootsModificationCount) {
+        return process;
+      }
+      myParserProcesses.remove(module, process);
+      process.destroy();
+    }
+    ParserProcess newProcess = ParserProcess.start(module, rootsModificationCount);
+    ParserProcess existing = myParserProcesses.putIfAbsent(module, newProcess);
+    if (existing != null) {
+      newProcess.destroy();
+      return existing;
+    }
+    return newProcess;
   }
 
-  private static ParseResult invokeParser(PrintWriter writer, OSProcessHandler handler, XmlTag tag, int timeout) {
-    Ref<ParseResult> result = Ref.create(null);
-    Semaphore semaphore = new Semaphore();
-    semaphore.down();
-    StringBuilder other = new StringBuilder();
-    handler.addProcessListener(new ProcessAdapter() {
-      final StringBuilder sb = new StringBuilder();
-
-      public void onTextAvailable(ProcessEvent event, Key outputType) {
-        int j;
-        List<Integer> map;
-        try {
-          if (outputType != ProcessOutputTypes.STDOUT) {
-            other.append(event.getText());
-            return;
-          }
-          this.sb.append(event.getText().replaceAll("\\r\\n", "\n").replaceAll("\\r", "\n"));
-          int i = this.sb.indexOf(CustomBeanParser.MAGIC);
-          if (i < 0) {
-            return;
-          }
-          String input = this.sb.substring(0, i);
-          this.sb.delete(0, i + CustomBeanParser.MAGIC.length());
-          String[] lines = input.split("\n");
-          int k = 0;
-          while (k < lines.length && !"exception".equals(lines[k]) && !"timeout".equals(lines[k]) && !"result".equals(lines[k])) {
-            k += CURRENT_VERSION;
-          }
-          if (k >= lines.length) {
-            setResult(new ParseResult(message("internal.error.parsing.bean", input)));
-            return;
-          }
-          String first = lines[k];
-          if ("exception".equals(first)) {
-            setResult(new ParseResult(new ParseResult.StackTrace(CustomBeanParser.decode(lines[k + CURRENT_VERSION]))));
-          }
-          else if ("timeout".equals(first)) {
-            setResult(new ParseResult(message("timeout.parsing.bean")));
-          }
-          else if ("result".equals(first)) {
-            SmartList smartList = new SmartList();
-            String nextLine = lines[k + CURRENT_VERSION];
-            boolean hasInfras = "has_infrastructures".equals(nextLine);
-            for (int j2 = k + 2; j2 < lines.length; j2 = j + CURRENT_VERSION) {
-              int i2 = j2;
-              j = j2 + CURRENT_VERSION;
-              CustomBeanInfo info = new CustomBeanInfo();
-              while (!"info_end".equals(lines[j])) {
-                int i3 = j;
-                int j3 = j + CURRENT_VERSION;
-                String prop = lines[i3];
-                j = j3 + CURRENT_VERSION;
-                String propValue = CustomBeanParser.decode(lines[j3]);
-                if ("beanName".equals(prop)) {
-                  info.beanName = propValue;
-                }
-                else if ("beanClassName".equals(prop)) {
-                  info.beanClassName = propValue;
-                }
-                else if ("constructorArgumentCount".equals(prop)) {
-                  info.constructorArgumentCount = Integer.parseInt(propValue);
-                }
-                else if ("factoryMethodName".equals(prop)) {
-                  info.factoryMethodName = propValue;
-                }
-                else if ("factoryBeanName".equals(prop)) {
-                  info.factoryBeanName = propValue;
-                }
-                else {
-                  String separated = propValue.substring(CURRENT_VERSION);
-                  if (StringUtil.isEmpty(separated)) {
-                    map = Collections.emptyList();
-                  }
-                  else {
-                    map = ContainerUtil.map(separated.split(";"), Integer::parseInt);
-                  }
-                  info.path = map;
-                }
-              }
-              smartList.add(info);
-            }
-            setResult(new ParseResult(smartList, hasInfras));
-          }
+  private void scheduleIdleShutdown(Module module, ParserProcess process) {
+    long lastUsed = process.touch();
+    AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+      if (process.lastUsed == lastUsed && myParserProcesses.remove(module, process)) {
+        synchronized(process) {
+          process.destroy();
         }
-        catch (Throwable e) {
-          setResult(new ParseResult(e));
+      }
+    }, PARSER_IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void dispose() {
+    for (ParserProcess process : myParserProcesses.values()) {
+      process.destroy();
+    }
+    myParserProcesses.clear();
+  }
+
+  /**
+   * Warm parser process. Requests are numbered, the child echoes the id in every response frame,
+   * frames of other requests (e.g. late output of a timed out one) are dropped.
+   */
+  private static final class ParserProcess extends ProcessAdapter {
+    final OSProcessHandler handler;
+    final PrintWriter writer;
+    final long rootsModificationCount;
+    volatile long lastUsed;
+    private int timeout = -1;
+    private int lastRequestId;
+
+    // guarded by itself, written by the output reader thread
+    private final StringBuilder stdout = new StringBuilder();
+    private final StringBuilder other = new StringBuilder();
+    @Nullable
+    private PendingRequest pending;
+
+    private ParserProcess(OSProcessHandler handler, long rootsModificationCount) {
+      this.handler = handler;
+      this.writer = new PrintWriter(handler.getProcessInput());
+      this.rootsModificationCount = rootsModificationCount;
+    }
+
+    static ParserProcess start(Module module, long rootsModificationCount) throws ExecutionException {
+      JavaParameters javaParameters = new JavaParameters();
+      javaParameters.setJdk(ModuleRootManager.getInstance(module).getSdk());
+      javaParameters.setMainClass(CUSTOM_BEAN_PARSER);
+      javaParameters.setUseClasspathJar(true);
+      if (isDebug()) {
+        javaParameters.getVMParametersList().addParametersString("-Xdebug -Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=5239");
+      }
+      computeUrls(module, javaParameters.getClassPath());
+      javaParameters.setUseDynamicClasspath(true);
+      OSProcessHandler handler = new OSProcessHandler(javaParameters.toCommandLine());
+      ParserProcess process = new ParserProcess(handler, rootsModificationCount);
+      handler.addProcessListener(process);
+      handler.startNotify();
+      return process;
+    }
+
+    void setTimeout(int timeout) {
+      if (this.timeout != timeout) {
+        // the first line is the timeout, later ones are sent as a command
+        if (this.timeout != -1) {
+          writer.println("timeout");
         }
+        writer.println(timeout);
+        this.timeout = timeout;
       }
+    }
 
-      private void setResult(ParseResult value) {
-        result.set(value);
-        handler.removeProcessListener(this);
-        semaphore.up();
+    /**
+     * Sends given tag and waits for the response frame of this request.
+     * The process is destroyed if it doesn't answer in time or reports a timeout itself,
+     * the parse thread left running in it could answer later.
+     */
+    ParseResult parse(XmlTag tag, int timeout) {
+      if (!isAlive()) {
+        return new ParseResult(message("process.unexpectedly.terminated", ""));
+      }
+      PendingRequest request = new PendingRequest(String.valueOf(++lastRequestId));
+      synchronized(stdout) {
+        pending = request;
+        other.setLength(0);
       }
+      writer.println("input");
+      writer.println(request.id);
+      writer.println(CustomBeanParser.encode(tag.getText()));
+      writer.flush();
+      boolean inTime = request.semaphore.waitFor(timeout);
+      String otherText;
+      synchronized(stdout) {
+        if (pending == request) {
+          pending = null;
+        }
+        otherText = other.toString();
+      }
+      ParseResult parseResult = request.result;
+      if (parseResult == null) {
+        if (inTime) {
+          return new ParseResult(new ParseResult.StackTrace(otherText));
+        }
+        // parser does not respond, it can't be reused for other tags
+        handler.destroyProcess();
+        return new ParseResult(message("timeout.parsing.bean"));
+      }
+      if (request.timedOut) {
+        handler.destroyProcess();
+      }
+      return parseResult;
+    }
 
-      public void processTerminated(ProcessEvent event) {
-        if (other.length() == 0 || this.sb.length() == 0) {
-          setResult(new ParseResult(message("process.unexpectedly.terminated", "")));
+    @Override
+    public void onTextAvailable(ProcessEvent event, Key outputType) {
+      synchronized(stdout) {
+        if (outputType != ProcessOutputTypes.STDOUT) {
+          other.append(event.getText());
           return;
         }
-        String output = ":\n\nSTDOUT:\n" + this.sb + "\n\nOTHER:\n" + other;
-        setResult(new ParseResult(message("process.unexpectedly.terminated", output)));
+        stdout.append(event.getText().replaceAll("\\r\\n", "\n").replaceAll("\\r", "\n"));
+        int i;
+        while ((i = stdout.indexOf(CustomBeanParser.MAGIC)) >= 0) {
+          String frame = stdout.substring(0, i);
+          stdout.delete(0, i + CustomBeanParser.MAGIC.length());
+          processFrame(frame);
+        }
       }
-    });
-    writer.println("input");
-    writer.println(CustomBeanParser.encode(tag.getText()));
-    writer.flush();
-    boolean inTime = semaphore.waitFor(timeout);
-    ParseResult parseResult = result.get();
-    if (parseResult == null) {
-      if (inTime) {
-        return new ParseResult(new ParseResult.StackTrace(other.toString()));
+    }
+
+    private void processFrame(String frame) {
+      String[] lines = frame.split("\n");
+      int k = 0;
+      while (k < lines.length && !lines[k].startsWith(CustomBeanParser.REQUEST_HEADER)) {
+        k++;
+      }
+      PendingRequest request = pending;
+      if (k + 1 >= lines.length) {
+        if (request != null) {
+          request.complete(new ParseResult(message("internal.error.parsing.bean", frame)));
+        }
+        return;
+      }
+      if (request == null || !request.id.equals(lines[k].substring(CustomBeanParser.REQUEST_HEADER.length()))) {
+        LOG.debug("Dropped custom bean parser response of another request: " + lines[k]);
+        return;
+      }
+      if ("timeout".equals(lines[k + 1])) {
+        request.timedOut = true;
+      }
+      ParseResult result;
+      try {
+        result = parseResponse(lines, k + 1, frame);
+      }
+      catch (Throwable e) {
+        result = new ParseResult(e);
+      }
+      request.complete(result);
+    }
+
+    @Override
+    public void processTerminated(ProcessEvent event) {
+      synchronized(stdout) {
+        PendingRequest request = pending;
+        if (request == null) {
+          return;
+        }
+        if (other.length() == 0 || stdout.length() == 0) {
+          request.complete(new ParseResult(message("process.unexpectedly.terminated", "")));
+          return;
+        }
+        String output = ":\n\nSTDOUT:\n" + stdout + "\n\nOTHER:\n" + other;
+        request.complete(new ParseResult(message("process.unexpectedly.terminated", output)));
+      }
+    }
+
+    long touch() {
+      long time = System.nanoTime();
+      this.lastUsed = time;
+      return time;
+    }
+
+    boolean isAlive() {
+      return !handler.isProcessTerminating() && !handler.isProcessTerminated();
+    }
+
+    void destroy() {
+      writer.close();
+      handler.destroyProcess();
+    }
+  }
+
+  private static final class PendingRequest {
+    final String id;
+    final Semaphore semaphore = new Semaphore();
+    @Nullable
+    volatile ParseResult result;
+    volatile boolean timedOut;
+
+    PendingRequest(String id) {
+      this.id = id;
+      semaphore.down();
+    }
+
+    void complete(ParseResult value) {
+      if (result == null) {
+        result = value;
+        semaphore.up();
       }
+    }
+  }
+
+  /**
+   * @param k index of the response kind line: {@code exception}, {@code timeout} or {@code result}
+   */
+  private static ParseResult parseResponse(String[] lines, int k, String frame) {
+    int j;
+    List<Integer> map;
+    String first = lines[k];
+    if ("exception".equals(first)) {
+      return new ParseResult(new ParseResult.StackTrace(CustomBeanParser.decode(lines[k + 1])));
+    }
+    else if ("timeout".equals(first)) {
       return new ParseResult(message("timeout.parsing.bean"));
     }
-    return parseResult;
+    else if ("result".equals(first)) {
+      SmartList smartList = new SmartList();
+      String nextLine = lines[k + 1];
+      boolean hasInfras = "has_infrastructures".equals(nextLine);
+      for (int j2 = k + 2; j2 < lines.length; j2 = j + 1) {
+        j = j2 + 1;
+        CustomBeanInfo info = new CustomBeanInfo();
+        while (!"info_end".equals(lines[j])) {
+          int i3 = j;
+          int j3 = j + 1;
+          String prop = lines[i3];
+          j = j3 + 1;
+          String propValue = CustomBeanParser.decode(lines[j3]);
+          if ("beanName".equals(prop)) {
+            info.beanName = propValue;
+          }
+          else if ("beanClassName".equals(prop)) {
+            info.beanClassName = propValue;
+          }
+          else if ("constructorArgumentCount".equals(prop)) {
+            info.constructorArgumentCount = Integer.parseInt(propValue);
+          }
+          else if ("factoryMethodName".equals(prop)) {
+            info.factoryMethodName = propValue;
+          }
+          else if ("factoryBeanName".equals(prop)) {
+            info.factoryBeanName = propValue;
+          }
+          else {
+            String separated = propValue.substring(1);
+            if (StringUtil.isEmpty(separated)) {
+              map = Collections.emptyList();
+            }
+            else {
+              map = ContainerUtil.map(separated.split(";"), Integer::parseInt);
+            }
+            info.path = map;
+          }
+        }
+        smartList.add(info);
+      }
+      return new ParseResult(smartList, hasInfras);
+    }
+    return new ParseResult(message("internal.error.parsing.bean", frame));
   }
 
-  private static void guessIdAttributeNames(PrintWriter writer, OSProcessHandler reader, XmlTag tag, List<CustomBeanInfo> list, int timeout)
+  private static void guessIdAttributeNames(ParserProcess process, XmlTag tag, List<CustomBeanInfo> list, int timeout)
           throws IncorrectOperationException {
     String[] fakeNames = new String[list.size()];
     String[] idAttrs = new String[list.size()];
@@ -559,7 +725,7 @@ public final class CustomBeanRegistry implements PersistentStateComponent<Custom
     }
 
     if (hasFakeIds) {
-      List<CustomBeanInfo> withFakes = invokeParser(writer, reader, tag, timeout).getBeans();
+      List<CustomBeanInfo> withFakes = process.parse(tag, timeout).getBeans();
       if (withFakes != null && withFakes.size() == list.size()) {
         for (int i = 0; i < fakeNames.length; ++i) {
           String name = fakeNames[i];
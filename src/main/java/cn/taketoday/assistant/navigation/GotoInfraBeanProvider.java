@@ -36,11 +36,17 @@ import cn.taketoday.assistant.context.model.InfraModel;
 import cn.taketoday.assistant.model.BeanPointer;
 import cn.taketoday.assistant.model.utils.InfraModelSearchers;
 import cn.taketoday.assistant.model.utils.InfraModelService;
+import cn.taketoday.assistant.startup.InfraModelSnapshots;
 import cn.taketoday.assistant.util.InfraUtils;
 
 final class GotoInfraBeanProvider extends GoToSymbolProvider {
 
   protected void addNames(Module module, Set<String> result) {
+    InfraModelSnapshots.Snapshot snapshot = InfraModelSnapshots.of(module.getProject()).getSnapshot(module);
+    if (snapshot != null) {
+      result.addAll(snapshot.getBeanNames());
+      return;
+    }
     Set<String> names = new HashSet<>();
     for (InfraModel infraModel : getModels(module)) {
       for (BeanPointer pointer : infraModel.getAllCommonBeans()) {
@@ -59,6 +65,10 @@ final class GotoInfraBeanProvider extends GoToSymbolProvider {
   }
 
   protected void addItems(Module module, String name, List<NavigationItem> result) {
+    InfraModelSnapshots.Snapshot snapshot = InfraModelSnapshots.of(module.getProject()).getSnapshot(module);
+    if (snapshot != null && snapshot.findBeans(name).isEmpty()) {
+      return;
+    }
     for (InfraModel infraModel : getModels(module)) {
       for (PsiElementPointer pointer : InfraModelSearchers.findBeans(infraModel, name)) {
         PsiElement element = pointer.getPsiElement();
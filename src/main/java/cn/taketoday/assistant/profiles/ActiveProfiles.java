@@ -0,0 +1,101 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.profiles;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import cn.taketoday.assistant.model.utils.ProfileUtils;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Active profiles matched by compiled {@link ProfileExpression profile expressions}, which see them
+ * as a bit set over profile names of the expression only.
+ * <p>
+ * Convert once per query with {@link #of(Set)} and reuse for all beans being filtered. The bit set
+ * is computed once per distinct compiled expression of the query, so instances are meant to be used
+ * by the querying thread only.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class ActiveProfiles {
+
+  public static final ActiveProfiles EMPTY = new ActiveProfiles(Collections.emptySet());
+
+  private static final long[] NO_WORDS = new long[0];
+
+  private final Set<String> names;
+
+  private final boolean emptyOrTestDefault;
+
+  private final Map<String[], long[]> words = new IdentityHashMap<>();
+
+  private ActiveProfiles(Set<String> names) {
+    this.names = names;
+    this.emptyOrTestDefault = ProfileUtils.isEmptyOrTestDefault(names);
+  }
+
+  public static ActiveProfiles of(@Nullable Set<String> activeProfiles) {
+    if (activeProfiles == null || activeProfiles.isEmpty()) {
+      return EMPTY;
+    }
+    // snapshot, given set may be changed afterwards
+    return new ActiveProfiles(Collections.unmodifiableSet(new LinkedHashSet<>(activeProfiles)));
+  }
+
+  public Set<String> getNames() {
+    return names;
+  }
+
+  /**
+   * @see ProfileUtils#isEmptyOrTestDefault(Set)
+   */
+  public boolean isEmptyOrTestDefault() {
+    return emptyOrTestDefault;
+  }
+
+  /**
+   * @param profiles profile names of a compiled expression, indexed by their ids
+   * @return bit set of active ones among given profiles
+   */
+  long[] getWords(String[] profiles) {
+    if (profiles.length == 0 || names.isEmpty()) {
+      return NO_WORDS;
+    }
+    // profile arrays are shared by all beans with equal expressions
+    return words.computeIfAbsent(profiles, this::computeWords);
+  }
+
+  private long[] computeWords(String[] profiles) {
+    long[] result = new long[(profiles.length + 63) >>> 6];
+    for (int id = 0; id < profiles.length; id++) {
+      if (names.contains(profiles[id])) {
+        result[id >>> 6] |= 1L << id;
+      }
+    }
+    return result;
+  }
+
+}
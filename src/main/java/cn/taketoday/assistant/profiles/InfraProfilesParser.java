@@ -31,34 +31,39 @@ import java.util.StringTokenizer;
 import java.util.function.Predicate;
 
 import cn.taketoday.assistant.model.InfraProfile;
+import cn.taketoday.assistant.profiles.ProfileExpression.Ids;
+import cn.taketoday.assistant.profiles.ProfileExpression.Node;
 
 import static cn.taketoday.assistant.InfraBundle.message;
 
 final class InfraProfilesParser {
-  private static final Predicate<Set<String>> DEFAULT = (activeProfiles) -> true;
-
   static Predicate<Set<String>> parse(Collection<String> expressions) {
+    ProfileExpression expression = ProfileExpression.parse(expressions);
+    return expression::matches;
+  }
+
+  static Node parseNode(Collection<String> expressions, Ids ids) {
     String expression = ContainerUtil.getOnlyItem(expressions);
     if (InfraProfile.DEFAULT_PROFILE_NAME.equals(expression)) {
-      return DEFAULT;
+      return ProfileExpression.TRUE;
     }
     else {
-      return expression != null ? parseExpression(expression) : or(ContainerUtil.map(expressions, InfraProfilesParser::parseExpression));
+      return expression != null ? parseExpression(expression, ids) : or(ContainerUtil.map(expressions, e -> parseExpression(e, ids)));
     }
   }
 
-  private static Predicate<Set<String>> parseExpression(String expression) {
+  private static Node parseExpression(String expression, Ids ids) {
     if (StringUtil.isEmptyOrSpaces(expression)) {
       throw new InfraProfilesFactory.MalformedProfileExpressionException(message("profile.expression.empty"));
     }
     else {
       StringTokenizer tokens = new StringTokenizer(expression, "()&|!", true);
-      return parseTokens(tokens, InfraProfilesParser.Context.NONE);
+      return parseTokens(tokens, InfraProfilesParser.Context.NONE, ids);
     }
   }
 
-  private static Predicate<Set<String>> parseTokens(StringTokenizer tokens, InfraProfilesParser.Context context) {
-    ArrayList<Predicate<Set<String>>> elements = new ArrayList<>();
+  private static Node parseTokens(StringTokenizer tokens, InfraProfilesParser.Context context, Ids ids) {
+    ArrayList<Node> elements = new ArrayList<>();
     InfraProfilesParser.Operator operator = null;
 
     while (true) {
@@ -74,7 +79,7 @@ final class InfraProfilesParser {
 
       switch (token) {
         case "(" -> {
-          Predicate<Set<String>> contents = parseTokens(tokens, Context.BRACKET);
+          Node contents = parseTokens(tokens, Context.BRACKET, ids);
           if (context == Context.INVERT) {
             return contents;
           }
@@ -88,9 +93,9 @@ final class InfraProfilesParser {
           assertWellFormed(operator == null || operator == Operator.OR);
           operator = Operator.OR;
         }
-        case "!" -> elements.add(parseTokens(tokens, Context.INVERT).negate());
+        case "!" -> elements.add(ProfileExpression.not(parseTokens(tokens, Context.INVERT, ids)));
         case ")" -> {
-          Predicate<Set<String>> merged = merge(elements, operator);
+          Node merged = merge(elements, operator);
           if (context == Context.BRACKET) {
             return merged;
           }
@@ -99,7 +104,7 @@ final class InfraProfilesParser {
           operator = null;
         }
         default -> {
-          Predicate<Set<String>> value = equals(token);
+          Node value = ProfileExpression.name(token, ids);
           if (context == Context.INVERT) {
             return value;
           }
@@ -109,13 +114,13 @@ final class InfraProfilesParser {
     }
   }
 
-  private static Predicate<Set<String>> merge(List<Predicate<Set<String>>> elements, InfraProfilesParser.Operator operator) {
+  private static Node merge(List<Node> elements, InfraProfilesParser.Operator operator) {
     assertWellFormed(!elements.isEmpty());
     if (elements.size() == 1) {
       return elements.get(0);
     }
     else {
-      ArrayList<Predicate<Set<String>>> profiles = new ArrayList<>(elements);
+      ArrayList<Node> profiles = new ArrayList<>(elements);
       return operator == InfraProfilesParser.Operator.AND ? and(profiles) : or(profiles);
     }
   }
@@ -126,24 +131,12 @@ final class InfraProfilesParser {
     }
   }
 
-  private static Predicate<Set<String>> or(List<Predicate<Set<String>>> profiles) {
-    return (activeProfiles) -> {
-      return profiles.stream().anyMatch((profile) -> {
-        return profile.test(activeProfiles);
-      });
-    };
-  }
-
-  private static Predicate<Set<String>> and(List<Predicate<Set<String>>> profiles) {
-    return (activeProfiles) -> {
-      return profiles.stream().allMatch((profile) -> {
-        return profile.test(activeProfiles);
-      });
-    };
+  private static Node or(List<Node> profiles) {
+    return ProfileExpression.or(profiles);
   }
 
-  private static Predicate<Set<String>> equals(String profile) {
-    return activeProfiles -> activeProfiles.contains(profile);
+  private static Node and(List<Node> profiles) {
+    return ProfileExpression.and(profiles);
   }
 
   private enum Context {
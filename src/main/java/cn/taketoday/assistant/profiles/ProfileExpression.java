@@ -0,0 +1,294 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.profiles;
+
+import com.intellij.openapi.util.Conditions;
+import com.intellij.util.ArrayUtilRt;
+import com.intellij.util.containers.ContainerUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import cn.taketoday.assistant.context.model.InfraSizeLimitedCache;
+import cn.taketoday.assistant.model.InfraProfile;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Profile expressions compiled to bit mask operations over {@link ActiveProfiles}.
+ * <p>
+ * Profile names get dense ids per compiled expression, so masks stay a word or two long
+ * and no global name table is kept. Compiled expressions are cached by expression text
+ * in a size-limited LRU cache, so beans declaring the same profiles share one program.
+ * Runs of plain names joined with the same operator are folded into a single mask.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class ProfileExpression {
+  private static final int MAX_CACHED = 10_000;
+
+  private static final InfraSizeLimitedCache<List<String>, ProfileExpression> ourExpressions =
+          new InfraSizeLimitedCache<>(MAX_CACHED, Conditions.alwaysTrue()) {
+            @Override
+            protected ProfileExpression createValue(List<String> expressions) {
+              try {
+                return parse(expressions);
+              }
+              catch (InfraProfilesFactory.MalformedProfileExpressionException e) {
+                return new ProfileExpression(FALSE, ArrayUtilRt.EMPTY_STRING_ARRAY);
+              }
+            }
+          };
+
+  private static final InfraSizeLimitedCache<List<String>, ProfileExpression> ourNames =
+          new InfraSizeLimitedCache<>(MAX_CACHED, Conditions.alwaysTrue()) {
+            @Override
+            protected ProfileExpression createValue(List<String> names) {
+              return names(names);
+            }
+          };
+
+  static final Node TRUE = words -> true;
+  static final Node FALSE = words -> false;
+
+  private final Node program;
+
+  private final String[] profiles;
+
+  private ProfileExpression(Node program, String[] profiles) {
+    this.program = program;
+    this.profiles = profiles;
+  }
+
+  /**
+   * Compiles {@code @Profile} expressions, see {@link InfraProfilesFactory#parseProfileExpressions(Collection)}.
+   * Malformed expressions never match.
+   */
+  public static ProfileExpression compile(Collection<String> expressions) {
+    return ourExpressions.get(List.copyOf(expressions));
+  }
+
+  /**
+   * Compiles plain profile names, optionally negated with {@code !}, as used in XML {@code profile} attribute.
+   */
+  public static ProfileExpression compileNames(Collection<String> names) {
+    return ourNames.get(List.copyOf(names));
+  }
+
+  /**
+   * Not cached compilation of {@code @Profile} expressions.
+   *
+   * @throws InfraProfilesFactory.MalformedProfileExpressionException if expressions are malformed
+   */
+  static ProfileExpression parse(Collection<String> expressions) {
+    Ids ids = new Ids();
+    Node program = InfraProfilesParser.parseNode(expressions, ids);
+    return new ProfileExpression(program, ids.getProfiles());
+  }
+
+  private static ProfileExpression names(List<String> names) {
+    if (InfraProfile.DEFAULT_PROFILE_NAME.equals(ContainerUtil.getOnlyItem(names))) {
+      return new ProfileExpression(TRUE, ArrayUtilRt.EMPTY_STRING_ARRAY);
+    }
+    Ids ids = new Ids();
+    List<Node> nodes = new ArrayList<>(names.size());
+    for (String name : names) {
+      nodes.add(name.startsWith("!") ? not(name(name.substring(1), ids)) : name(name, ids));
+    }
+    return new ProfileExpression(nodes.isEmpty() ? FALSE : or(nodes), ids.getProfiles());
+  }
+
+  public boolean matches(ActiveProfiles activeProfiles) {
+    return program.matches(activeProfiles.getWords(profiles));
+  }
+
+  public boolean matches(Set<String> activeProfiles) {
+    return matches(ActiveProfiles.of(activeProfiles));
+  }
+
+  static Node name(String name, Ids ids) {
+    int id = ids.idOf(name);
+    long[] mask = new long[(id >>> 6) + 1];
+    mask[id >>> 6] = 1L << id;
+    return new AnyOf(mask);
+  }
+
+  static Node not(Node node) {
+    return node == TRUE ? FALSE : node == FALSE ? TRUE : words -> !node.matches(words);
+  }
+
+  static Node or(List<Node> nodes) {
+    long[] mask = null;
+    List<Node> others = new ArrayList<>();
+    for (Node node : nodes) {
+      if (node == TRUE) {
+        return TRUE;
+      }
+      if (node instanceof Mask m && (m instanceof AnyOf || m.isSingleBit())) {
+        mask = Mask.union(mask, m.mask);
+      }
+      else if (node != FALSE) {
+        others.add(node);
+      }
+    }
+    if (mask != null) {
+      others.add(0, new AnyOf(mask));
+    }
+    if (others.isEmpty()) {
+      return FALSE;
+    }
+    if (others.size() == 1) {
+      return others.get(0);
+    }
+    Node[] operands = others.toArray(new Node[0]);
+    return words -> {
+      for (Node operand : operands) {
+        if (operand.matches(words)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  static Node and(List<Node> nodes) {
+    long[] mask = null;
+    List<Node> others = new ArrayList<>();
+    for (Node node : nodes) {
+      if (node == FALSE) {
+        return FALSE;
+      }
+      if (node instanceof Mask m && (m instanceof AllOf || m.isSingleBit())) {
+        mask = Mask.union(mask, m.mask);
+      }
+      else if (node != TRUE) {
+        others.add(node);
+      }
+    }
+    if (mask != null) {
+      others.add(0, new AllOf(mask));
+    }
+    if (others.isEmpty()) {
+      return TRUE;
+    }
+    if (others.size() == 1) {
+      return others.get(0);
+    }
+    Node[] operands = others.toArray(new Node[0]);
+    return words -> {
+      for (Node operand : operands) {
+        if (!operand.matches(words)) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
+  interface Node {
+
+    boolean matches(long[] words);
+  }
+
+  /**
+   * Dense ids of profile names referenced by one compiled expression.
+   */
+  static final class Ids {
+    private final Map<String, Integer> ids = new LinkedHashMap<>();
+
+    int idOf(String name) {
+      return ids.computeIfAbsent(name, n -> ids.size());
+    }
+
+    String[] getProfiles() {
+      return ArrayUtilRt.toStringArray(ids.keySet());
+    }
+  }
+
+  private abstract static class Mask implements Node {
+    final long[] mask;
+
+    Mask(long[] mask) {
+      this.mask = mask;
+    }
+
+    boolean isSingleBit() {
+      int bits = 0;
+      for (long word : mask) {
+        bits += Long.bitCount(word);
+      }
+      return bits == 1;
+    }
+
+    static long[] union(@Nullable long[] first, long[] second) {
+      if (first == null) {
+        return second.clone();
+      }
+      long[] result = first.length >= second.length ? first : second.clone();
+      long[] other = result == first ? second : first;
+      for (int i = 0; i < other.length; i++) {
+        result[i] |= other[i];
+      }
+      return result;
+    }
+  }
+
+  private static final class AnyOf extends Mask {
+
+    AnyOf(long[] mask) {
+      super(mask);
+    }
+
+    @Override
+    public boolean matches(long[] words) {
+      int length = Math.min(mask.length, words.length);
+      for (int i = 0; i < length; i++) {
+        if ((mask[i] & words[i]) != 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class AllOf extends Mask {
+
+    AllOf(long[] mask) {
+      super(mask);
+    }
+
+    @Override
+    public boolean matches(long[] words) {
+      for (int i = 0; i < mask.length; i++) {
+        long word = i < words.length ? words[i] : 0;
+        if ((mask[i] & word) != mask[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+}
@@ -89,7 +89,7 @@ public class DefaultInfraModelProvider implements InfraModelProvider {
           configuration.registerAutodetectedFileSet(fileSet);
           List<InfraAutodetectedFileSet> fileSets = new SmartList<>(fileSet);
 
-          Object[] outerModelsTracker = InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies();
+          Object[] outerModelsTracker = InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module);
           return CachedValueProvider.Result.create(fileSets, ArrayUtil.append(outerModelsTracker, configuration.getSettingsModificationTracker()));
         }
       }
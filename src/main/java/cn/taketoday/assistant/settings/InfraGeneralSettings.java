@@ -40,6 +40,13 @@ public abstract class InfraGeneralSettings implements Disposable {
 
   public abstract void setAllowAutoConfigurationMode(boolean allowAutoConfigurationMode);
 
+  /**
+   * @return number of modules whose models are warmed up concurrently after indexing, {@code 0} disables warm-up
+   */
+  public abstract int getModelsWarmUpConcurrency();
+
+  public abstract void setModelsWarmUpConcurrency(int modelsWarmUpConcurrency);
+
   public static InfraGeneralSettings from(Project project) {
     return project.getService(InfraGeneralSettings.class);
   }
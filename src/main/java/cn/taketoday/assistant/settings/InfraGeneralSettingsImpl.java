@@ -32,6 +32,7 @@ public class InfraGeneralSettingsImpl extends InfraGeneralSettings implements Pe
   private boolean showProfilesPanel = true;
   private boolean showMultipleContextsPanel = true;
   private boolean allowAutoConfigurationMode;
+  private int modelsWarmUpConcurrency = 1;
 
   @Nullable
   public InfraGeneralSettingsImpl getState() {
@@ -72,6 +73,16 @@ public class InfraGeneralSettingsImpl extends InfraGeneralSettings implements Pe
     this.allowAutoConfigurationMode = allowAutoConfigurationMode;
   }
 
+  @Override
+  public int getModelsWarmUpConcurrency() {
+    return this.modelsWarmUpConcurrency;
+  }
+
+  @Override
+  public void setModelsWarmUpConcurrency(int modelsWarmUpConcurrency) {
+    this.modelsWarmUpConcurrency = modelsWarmUpConcurrency;
+  }
+
   public void dispose() {
   }
 }
@@ -25,6 +25,7 @@ import com.intellij.openapi.options.ConfigurableUi;
 import com.intellij.ui.EditorNotifications;
 import com.intellij.ui.IdeBorderFactory;
 import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBLabel;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
 import com.intellij.uiDesigner.core.Spacer;
@@ -35,12 +36,15 @@ import java.util.ResourceBundle;
 import javax.swing.AbstractButton;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 
 class InfraGeneralSettingsUi implements ConfigurableUi<InfraGeneralSettings> {
   private JPanel rootPanel;
   private JBCheckBox showProfilesPanel;
   private JBCheckBox showMultiContextsPanel;
   private JBCheckBox allowAutoConfiguration;
+  private JSpinner modelsWarmUpConcurrency;
 
   private void $$$setupUI$$$() {
     JPanel jPanel = new JPanel();
@@ -64,7 +68,7 @@ class InfraGeneralSettingsUi implements ConfigurableUi<InfraGeneralSettings> {
     jBCheckBox2.setToolTipText(ResourceBundle.getBundle("messages/InfraBundle").getString("settings.multiple.context.panel.tooltip"));
     jPanel2.add(jBCheckBox2, new GridConstraints(1, 0, 1, 1, 8, 0, 0, 0, null, null, null));
     JPanel jPanel3 = new JPanel();
-    jPanel3.setLayout(new GridLayoutManager(1, 1, new Insets(0, 0, 0, 0), -1, -1, false, false));
+    jPanel3.setLayout(new GridLayoutManager(2, 1, new Insets(0, 0, 0, 0), -1, -1, false, false));
     jPanel3.putClientProperty("BorderFactoryClass", "com.intellij.ui.IdeBorderFactory$PlainSmallWithoutIndent");
     jPanel.add(jPanel3, new GridConstraints(0, 0, 1, 1, 0, 3, 3, 3, null, null, null));
     jPanel3.setBorder(IdeBorderFactory.PlainSmallWithoutIndent.createTitledBorder(null,
@@ -74,6 +78,18 @@ class InfraGeneralSettingsUi implements ConfigurableUi<InfraGeneralSettings> {
     $$$loadButtonText$$$(jBCheckBox3, DynamicBundle.getBundle("messages/InfraBundle", InfraGeneralSettingsUi.class).getString("settings.auto.configure"));
     jBCheckBox3.setToolTipText("");
     jPanel3.add(jBCheckBox3, new GridConstraints(0, 0, 1, 1, 8, 0, 0, 0, null, null, null));
+    JPanel jPanel4 = new JPanel();
+    jPanel4.setLayout(new GridLayoutManager(1, 3, new Insets(0, 0, 0, 0), -1, -1, false, false));
+    jPanel3.add(jPanel4, new GridConstraints(1, 0, 1, 1, 0, 3, 3, 3, null, null, null));
+    JBLabel jBLabel = new JBLabel();
+    jBLabel.setText(DynamicBundle.getBundle("messages/InfraBundle", InfraGeneralSettingsUi.class).getString("settings.models.warm.up.concurrency"));
+    jBLabel.setToolTipText(ResourceBundle.getBundle("messages/InfraBundle").getString("settings.models.warm.up.concurrency.tooltip"));
+    jPanel4.add(jBLabel, new GridConstraints(0, 0, 1, 1, 8, 0, 0, 0, null, null, null));
+    JSpinner jSpinner = new JSpinner(new SpinnerNumberModel(1, 0, 8, 1));
+    this.modelsWarmUpConcurrency = jSpinner;
+    jBLabel.setLabelFor(jSpinner);
+    jPanel4.add(jSpinner, new GridConstraints(0, 1, 1, 1, 8, 0, 0, 0, null, null, null));
+    jPanel4.add(new Spacer(), new GridConstraints(0, 2, 1, 1, 0, 1, 6, 1, null, null, null));
   }
 
   public JComponent $$$getRootComponent$$$() {
@@ -116,10 +132,15 @@ class InfraGeneralSettingsUi implements ConfigurableUi<InfraGeneralSettings> {
     this.showProfilesPanel.setSelected(settings.isShowProfilesPanel());
     this.showMultiContextsPanel.setSelected(settings.isShowMultipleContextsPanel());
     this.allowAutoConfiguration.setSelected(settings.isAllowAutoConfigurationMode());
+    this.modelsWarmUpConcurrency.setValue(settings.getModelsWarmUpConcurrency());
   }
 
   public boolean isModified(InfraGeneralSettings settings) {
-    return hasModifiedEditorPanelSettings(settings);
+    return hasModifiedEditorPanelSettings(settings) || settings.getModelsWarmUpConcurrency() != getModelsWarmUpConcurrency();
+  }
+
+  private int getModelsWarmUpConcurrency() {
+    return (Integer) this.modelsWarmUpConcurrency.getValue();
   }
 
   private boolean hasModifiedEditorPanelSettings(InfraGeneralSettings settings) {
@@ -127,6 +148,7 @@ class InfraGeneralSettingsUi implements ConfigurableUi<InfraGeneralSettings> {
   }
 
   public void apply(InfraGeneralSettings settings) {
+    settings.setModelsWarmUpConcurrency(getModelsWarmUpConcurrency());
     if (hasModifiedEditorPanelSettings(settings)) {
       settings.setShowProfilesPanel(this.showProfilesPanel.isSelected());
       settings.setShowMultipleContextsPanel(this.showMultiContextsPanel.isSelected());
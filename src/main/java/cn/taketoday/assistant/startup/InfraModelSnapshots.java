@@ -0,0 +1,445 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.startup;
+
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManagerCore;
+import com.intellij.openapi.application.ApplicationInfo;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.extensions.PluginId;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleFileIndex;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.pointers.VirtualFilePointer;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.containers.CollectionFactory;
+import com.intellij.util.io.IOUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import cn.taketoday.assistant.CommonInfraModel;
+import cn.taketoday.assistant.InfraManager;
+import cn.taketoday.assistant.InfraModificationTrackersManager;
+import cn.taketoday.assistant.context.model.InfraModel;
+import cn.taketoday.assistant.context.model.LocalModel;
+import cn.taketoday.assistant.facet.InfraFacet;
+import cn.taketoday.assistant.facet.InfraFileSet;
+import cn.taketoday.assistant.facet.InfraFileSetService;
+import cn.taketoday.assistant.model.BeanPointer;
+import cn.taketoday.lang.Nullable;
+
+/**
+ * Snapshots of bean names of module models (without dependencies) saved on disk, so bean names
+ * of a module are known right after project opening, before its models are computed again.
+ * <p>
+ * Snapshots are a startup-only fallback: they are {@link #preload(Module) preloaded} in background
+ * by {@link InfraModelsWarmUpService} and served only until models of the module are computed
+ * or any PSI, root or model relevant change happens.
+ * A snapshot is valid only while module classpath, IDE and plugin versions, source and resource
+ * files of the module and modules it depends on, and all other files declaring beans or configs
+ * are the same as when it was saved. Snapshots are saved when models are computed by
+ * {@link InfraModelsWarmUpService} and again on project closing, so the last saved state
+ * matches files on disk.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class InfraModelSnapshots {
+  private static final Logger LOG = Logger.getInstance(InfraModelSnapshots.class);
+
+  private static final int FORMAT_VERSION = 2;
+
+  private final Project project;
+
+  private final Map<Module, LoadedSnapshot> snapshots = CollectionFactory.createConcurrentWeakMap();
+
+  /**
+   * Modules whose models have been computed and saved in this session, saved again on project closing.
+   */
+  private final Set<Module> savedModules = Collections.newSetFromMap(CollectionFactory.createConcurrentWeakMap());
+
+  public InfraModelSnapshots(Project project) {
+    this.project = project;
+  }
+
+  public static InfraModelSnapshots of(Project project) {
+    return project.getService(InfraModelSnapshots.class);
+  }
+
+  /**
+   * Loads and validates saved snapshot of the module unless it was loaded or models were computed already,
+   * requires read action. Validation visits all source files of the module and its dependencies.
+   */
+  public void preload(Module module) {
+    if (!module.isDisposed()) {
+      snapshots.computeIfAbsent(module, this::load);
+    }
+  }
+
+  /**
+   * @return valid preloaded snapshot of module models, {@code null} if it is missing, outdated
+   * or models of the module have been computed since
+   */
+  @Nullable
+  public Snapshot getSnapshot(Module module) {
+    if (module.isDisposed()) {
+      return null;
+    }
+    LoadedSnapshot loaded = snapshots.get(module);
+    if (loaded == null || loaded.snapshot == null) {
+      return null;
+    }
+    if (loaded.tracker.getModificationCount() != loaded.modificationCount) {
+      snapshots.put(module, LoadedSnapshot.MISSING);
+      return null;
+    }
+    return loaded.snapshot;
+  }
+
+  /**
+   * Saves named beans of module models without dependencies, as Go to Symbol shows them, requires read action.
+   *
+   * @see InfraManager#getAllModelsWithoutDependencies(Module)
+   */
+  public void save(Module module) {
+    if (module.isDisposed()) {
+      return;
+    }
+    Map<String, FileStamp> files = new LinkedHashMap<>();
+    List<BeanRecord> beans = new ArrayList<>();
+    for (InfraModel model : InfraManager.from(project).getAllModelsWithoutDependencies(module)) {
+      for (CommonInfraModel relatedModel : model.getRelatedModels()) {
+        if (relatedModel instanceof LocalModel<?> localModel) {
+          addFile(files, localModel.getConfig().getContainingFile());
+        }
+      }
+      for (BeanPointer<?> pointer : model.getAllCommonBeans()) {
+        String name = pointer.isValid() ? pointer.getName() : null;
+        if (StringUtil.isEmpty(name) || addFile(files, pointer.getContainingFile()) == null) {
+          // beans of not physical files can't be validated on load
+          continue;
+        }
+        List<String> aliases = new ArrayList<>();
+        for (String alias : pointer.getAliases()) {
+          if (StringUtil.isNotEmpty(alias)) {
+            aliases.add(alias);
+          }
+        }
+        beans.add(new BeanRecord(name, aliases));
+      }
+    }
+
+    // real models exist now, the snapshot is for the next start only
+    snapshots.put(module, LoadedSnapshot.MISSING);
+    savedModules.add(module);
+    try {
+      write(getSnapshotFile(module), getFingerprint(module), getContentHash(module), files, beans);
+    }
+    catch (IOException e) {
+      LOG.info("Cannot save models snapshot of module " + module.getName(), e);
+    }
+  }
+
+  /**
+   * Saves snapshots of modules whose models were computed in this session, so they match files on disk.
+   */
+  public void saveOnClose() {
+    for (Module module : savedModules.toArray(Module.EMPTY_ARRAY)) {
+      try {
+        ReadAction.run(() -> save(module));
+      }
+      catch (ProcessCanceledException e) {
+        throw e;
+      }
+      catch (Exception e) {
+        LOG.info("Cannot save models snapshot of module " + module.getName(), e);
+      }
+    }
+  }
+
+  private LoadedSnapshot load(Module module) {
+    Path file = getSnapshotFile(module);
+    ModificationTracker tracker = getModuleTracker(module);
+    long modificationCount = tracker.getModificationCount();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != FORMAT_VERSION || !getFingerprint(module).equals(IOUtil.readUTF(in))
+              || in.readLong() != getContentHash(module)) {
+        return LoadedSnapshot.MISSING;
+      }
+      int filesCount = in.readInt();
+      for (int i = 0; i < filesCount; i++) {
+        String url = IOUtil.readUTF(in);
+        long timeStamp = in.readLong();
+        long length = in.readLong();
+        VirtualFile virtualFile = VirtualFileManager.getInstance().findFileByUrl(url);
+        if (virtualFile == null || !virtualFile.isValid()
+                || virtualFile.getTimeStamp() != timeStamp || virtualFile.getLength() != length) {
+          return LoadedSnapshot.MISSING;
+        }
+      }
+      int beansCount = in.readInt();
+      List<BeanRecord> beans = new ArrayList<>(beansCount);
+      for (int i = 0; i < beansCount; i++) {
+        beans.add(BeanRecord.read(in));
+      }
+      return new LoadedSnapshot(new Snapshot(beans), tracker, modificationCount);
+    }
+    catch (NoSuchFileException e) {
+      return LoadedSnapshot.MISSING;
+    }
+    catch (IOException e) {
+      LOG.info("Cannot load models snapshot of module " + module.getName(), e);
+      return LoadedSnapshot.MISSING;
+    }
+  }
+
+  private static void write(Path file, String fingerprint, long contentHash,
+          Map<String, FileStamp> files, List<BeanRecord> beans) throws IOException {
+    Files.createDirectories(file.getParent());
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (OutputStream stream = Files.newOutputStream(tempFile);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+      out.writeInt(FORMAT_VERSION);
+      IOUtil.writeUTF(out, fingerprint);
+      out.writeLong(contentHash);
+      out.writeInt(files.size());
+      for (Map.Entry<String, FileStamp> entry : files.entrySet()) {
+        IOUtil.writeUTF(out, entry.getKey());
+        out.writeLong(entry.getValue().timeStamp);
+        out.writeLong(entry.getValue().length);
+      }
+      out.writeInt(beans.size());
+      for (BeanRecord bean : beans) {
+        bean.write(out);
+      }
+    }
+    FileUtil.rename(tempFile.toFile(), file.toFile());
+  }
+
+  @Nullable
+  private static String addFile(Map<String, FileStamp> files, @Nullable PsiFile psiFile) {
+    VirtualFile file = psiFile == null ? null : psiFile.getOriginalFile().getVirtualFile();
+    if (file == null || !file.isInLocalFileSystem() && !file.getFileSystem().getProtocol().equals("jar")) {
+      return null;
+    }
+    String url = file.getUrl();
+    files.computeIfAbsent(url, u -> new FileStamp(file.getTimeStamp(), file.getLength()));
+    return url;
+  }
+
+  /**
+   * Loaded snapshots are dropped on any PSI change (XML files and bean method renames bump no outer model tracker),
+   * root change or model relevant change, models are expected to be computed again by then.
+   */
+  private ModificationTracker getModuleTracker(Module module) {
+    ModificationTracker outerModelsTracker = InfraModificationTrackersManager.from(project).getOuterModelsModificationTracker(module);
+    ModificationTracker rootsTracker = ProjectRootManager.getInstance(project);
+    ModificationTracker psiTracker = PsiModificationTracker.getInstance(project);
+    return () -> outerModelsTracker.getModificationCount() + rootsTracker.getModificationCount() + psiTracker.getModificationCount();
+  }
+
+  /**
+   * Order independent hash of paths, time stamps and lengths of all source and resource files of the module
+   * and modules it depends on, so files added, removed or changed while the project was closed are detected,
+   * not only files which declared beans.
+   */
+  private static long getContentHash(Module module) {
+    Set<Module> modules = new LinkedHashSet<>();
+    ModuleUtilCore.getDependencies(module, modules);
+    long[] hash = { 0 };
+    for (Module dependency : modules) {
+      ModuleFileIndex fileIndex = ModuleRootManager.getInstance(dependency).getFileIndex();
+      fileIndex.iterateContent(file -> {
+        if (!file.isDirectory()) {
+          long fileHash = file.getUrl().hashCode();
+          fileHash = 31 * fileHash + file.getTimeStamp();
+          fileHash = 31 * fileHash + file.getLength();
+          hash[0] += fileHash * 0x9E3779B97F4A7C15L;
+        }
+        return true;
+      }, file -> fileIndex.isInSourceContent(file));
+    }
+    return hash[0];
+  }
+
+  private Path getSnapshotFile(Module module) {
+    String fileName = FileUtil.sanitizeFileName(module.getName()) + "." + Integer.toHexString(module.getName().hashCode()) + ".dat";
+    return PathManager.getSystemDir().resolve("infra-models").resolve(project.getLocationHash()).resolve(fileName);
+  }
+
+  private static String getFingerprint(Module module) {
+    IdeaPluginDescriptor plugin = PluginManagerCore.getPlugin(PluginId.getId("cn.taketoday.assistant"));
+    String classpath = OrderEnumerator.orderEntries(module).recursively().getPathsList().getPathsString();
+    return ApplicationInfo.getInstance().getBuild().asString()
+            + ":" + (plugin == null ? "" : plugin.getVersion())
+            + ":" + Integer.toHexString(classpath.hashCode())
+            + ":" + Integer.toHexString(getConfigFiles(module).hashCode());
+  }
+
+  /**
+   * @return configured file sets of the module with their files and profiles, and auto-configuration mode
+   */
+  private static String getConfigFiles(Module module) {
+    StringBuilder builder = new StringBuilder();
+    builder.append(InfraManager.isAllowAutoConfiguration(module.getProject()));
+    InfraFacet facet = InfraFacet.from(module);
+    if (facet != null) {
+      for (InfraFileSet fileSet : InfraFileSetService.of().getAllSets(facet)) {
+        if (!fileSet.isRemoved()) {
+          builder.append('\n').append(fileSet.getId()).append(fileSet.getActiveProfiles());
+          for (VirtualFilePointer file : fileSet.getFiles()) {
+            builder.append(' ').append(file.getUrl());
+          }
+        }
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Named beans of module models as they were when the snapshot was saved.
+   */
+  public static final class Snapshot {
+    private final List<BeanRecord> beans;
+    private final Map<String, List<BeanRecord>> beansByName = new HashMap<>();
+
+    Snapshot(List<BeanRecord> beans) {
+      this.beans = Collections.unmodifiableList(beans);
+      for (BeanRecord bean : beans) {
+        if (!bean.name.isEmpty()) {
+          beansByName.computeIfAbsent(bean.name, n -> new ArrayList<>(1)).add(bean);
+        }
+        for (String alias : bean.aliases) {
+          if (!alias.isEmpty()) {
+            beansByName.computeIfAbsent(alias, n -> new ArrayList<>(1)).add(bean);
+          }
+        }
+      }
+    }
+
+    public List<BeanRecord> getBeans() {
+      return beans;
+    }
+
+    /**
+     * @return bean names and aliases
+     */
+    public Set<String> getBeanNames() {
+      return Collections.unmodifiableSet(beansByName.keySet());
+    }
+
+    public List<BeanRecord> findBeans(String nameOrAlias) {
+      return beansByName.getOrDefault(nameOrAlias, Collections.emptyList());
+    }
+  }
+
+  public static final class BeanRecord {
+    private final String name;
+    private final List<String> aliases;
+
+    BeanRecord(String name, List<String> aliases) {
+      this.name = name;
+      this.aliases = aliases;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public List<String> getAliases() {
+      return aliases;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      IOUtil.writeUTF(out, name);
+      writeList(out, aliases);
+    }
+
+    static BeanRecord read(DataInputStream in) throws IOException {
+      String name = IOUtil.readUTF(in);
+      List<String> aliases = readList(in);
+      return new BeanRecord(name, aliases);
+    }
+
+    private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+      out.writeInt(values.size());
+      for (String value : values) {
+        IOUtil.writeUTF(out, value);
+      }
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+      int size = in.readInt();
+      List<String> values = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        values.add(IOUtil.readUTF(in));
+      }
+      return values;
+    }
+  }
+
+  private record FileStamp(long timeStamp, long length) {
+  }
+
+  private static final class LoadedSnapshot {
+    static final LoadedSnapshot MISSING = new LoadedSnapshot(null, ModificationTracker.NEVER_CHANGED, 0);
+
+    @Nullable
+    final Snapshot snapshot;
+    final ModificationTracker tracker;
+    final long modificationCount;
+
+    LoadedSnapshot(@Nullable Snapshot snapshot, ModificationTracker tracker, long modificationCount) {
+      this.snapshot = snapshot;
+      this.tracker = tracker;
+      this.modificationCount = modificationCount;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.startup;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.impl.EditorHistoryManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import org.jetbrains.concurrency.CancellablePromise;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import cn.taketoday.assistant.InfraBundle;
+import cn.taketoday.assistant.InfraLibraryUtil;
+import cn.taketoday.assistant.InfraManager;
+import cn.taketoday.assistant.context.model.InfraModel;
+import cn.taketoday.assistant.settings.InfraGeneralSettings;
+
+/**
+ * Computes combined models of recently used modules in background, so the first
+ * highlighting pass after project opening or indexing doesn't pay for model creation.
+ * Saved {@link InfraModelSnapshots snapshots} of these modules are loaded first and serve until
+ * their models are computed, computed models are saved as snapshots for the next start.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+public final class InfraModelsWarmUpService implements Disposable {
+  private static final Logger LOG = Logger.getInstance(InfraModelsWarmUpService.class);
+
+  private static final int MAX_MODULES = 10;
+
+  private final Project project;
+
+  private final AtomicReference<ProgressIndicator> currentIndicator = new AtomicReference<>();
+
+  public InfraModelsWarmUpService(Project project) {
+    this.project = project;
+  }
+
+  public static InfraModelsWarmUpService of(Project project) {
+    return project.getService(InfraModelsWarmUpService.class);
+  }
+
+  /**
+   * Cancels running warm-up and starts a new one when indexing is finished.
+   */
+  public void schedule() {
+    if (InfraGeneralSettings.from(project).getModelsWarmUpConcurrency() <= 0) {
+      return;
+    }
+    DumbService.getInstance(project).runWhenSmart(() -> {
+      ApplicationManager.getApplication().invokeLater(() -> {
+        int concurrency = InfraGeneralSettings.from(project).getModelsWarmUpConcurrency();
+        if (concurrency > 0) {
+          new WarmUpTask(concurrency).queue();
+        }
+      }, project.getDisposed());
+    });
+  }
+
+  /**
+   * Modules of recently opened files, the most recent first.
+   */
+  private List<Module> getModulesToWarmUp() {
+    Set<Module> modules = new LinkedHashSet<>();
+    List<VirtualFile> files = EditorHistoryManager.getInstance(project).getFileList();
+    for (int i = files.size() - 1; i >= 0 && modules.size() < MAX_MODULES; i--) {
+      VirtualFile file = files.get(i);
+      if (file.isValid()) {
+        Module module = ModuleUtilCore.findModuleForFile(file, project);
+        if (module != null && !module.isDisposed() && InfraLibraryUtil.hasLibrary(module)) {
+          modules.add(module);
+        }
+      }
+    }
+    return new ArrayList<>(modules);
+  }
+
+  @Override
+  public void dispose() {
+    ProgressIndicator indicator = currentIndicator.getAndSet(null);
+    if (indicator != null) {
+      indicator.cancel();
+    }
+  }
+
+  private final class WarmUpTask extends Task.Backgroundable {
+    private final int concurrency;
+
+    WarmUpTask(int concurrency) {
+      super(project, InfraBundle.message("models.warm.up.progress"), true);
+      this.concurrency = concurrency;
+    }
+
+    @Override
+    public void run(ProgressIndicator indicator) {
+      ProgressIndicator previous = currentIndicator.getAndSet(indicator);
+      if (previous != null) {
+        previous.cancel();
+      }
+      ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Infra Models Warm-Up", concurrency);
+      List<CancellablePromise<?>> promises = new ArrayList<>();
+      try {
+        List<Module> modules = ReadAction.compute(InfraModelsWarmUpService.this::getModulesToWarmUp);
+        // saved bean names serve Go to Symbol until models are computed
+        for (Module module : modules) {
+          ReadAction.run(() -> InfraModelSnapshots.of(project).preload(module));
+        }
+        indicator.setIndeterminate(false);
+        for (Module module : modules) {
+          promises.add(ReadAction.nonBlocking(() -> warmUp(module, indicator))
+                  .inSmartMode(project)
+                  .expireWith(InfraModelsWarmUpService.this)
+                  .wrapProgress(indicator)
+                  .submit(executor));
+        }
+        for (int i = 0; i < promises.size(); i++) {
+          ProgressIndicatorUtils.awaitWithCheckCanceled(promises.get(i));
+          indicator.setFraction((double) (i + 1) / promises.size());
+        }
+      }
+      catch (ProcessCanceledException e) {
+        for (CancellablePromise<?> promise : promises) {
+          promise.cancel();
+        }
+        throw e;
+      }
+      finally {
+        executor.shutdown();
+        currentIndicator.compareAndSet(indicator, null);
+      }
+    }
+
+    private Object warmUp(Module module, ProgressIndicator indicator) {
+      if (module.isDisposed()) {
+        return null;
+      }
+      indicator.setText2(module.getName());
+      try {
+        InfraModel model = InfraManager.from(project).getCombinedModel(module);
+        // component scans and auto-configurations are computed lazily
+        model.getAllCommonBeans();
+        InfraModelSnapshots.of(project).save(module);
+      }
+      catch (ProcessCanceledException e) {
+        throw e;
+      }
+      catch (Exception e) {
+        LOG.warn("Cannot warm up models of module " + module.getName(), e);
+      }
+      return null;
+    }
+  }
+
+}
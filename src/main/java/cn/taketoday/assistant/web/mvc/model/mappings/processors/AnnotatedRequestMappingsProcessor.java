@@ -81,7 +81,7 @@ public final class AnnotatedRequestMappingsProcessor {
           allMappings.add(Pair.create(mapping, springController != null));
         }
       }
-      ContainerUtil.addAll(cacheDependencies, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies());
+      ContainerUtil.addAll(cacheDependencies, InfraModificationTrackersManager.from(module.getProject()).getOuterModelsDependencies(module));
       return CachedValueProvider.Result.create(allMappings, ArrayUtil.toObjectArray(cacheDependencies));
     }, false);
   }
@@ -0,0 +1,155 @@
+/*
+ * Original Author -> Harry Yang (taketoday@foxmail.com) https://taketoday.cn
+ * Copyright © TODAY & 2017 - 2022 All Rights Reserved.
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see [http://www.gnu.org/licenses/]
+ */
+
+package cn.taketoday.assistant.web.mvc.services;
+
+import com.intellij.microservices.url.UrlPath;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.SmartList;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import cn.taketoday.assistant.InfraModificationTrackersManager;
+import cn.taketoday.assistant.web.mvc.mapping.UrlMappingElement;
+import cn.taketoday.lang.Nullable;
+import gnu.trove.TIntArrayList;
+
+/**
+ * Segment trie over url mappings of a module. Literal segments are stored as trie edges,
+ * mappings are attached to the node of their first non-literal segment (path variable,
+ * wildcard, placeholder) or to their last node, so lookup only visits the branch of the
+ * requested path and {@link UrlPath#isCompatibleWith(UrlPath)} is checked on candidates only.
+ *
+ * @author <a href="https://github.com/TAKETODAY">Harry Yang</a>
+ * @since 1.0
+ */
+final class UrlMappingsIndex {
+
+  private final List<UrlMappingElement> mappings;
+
+  private final Node root = new Node();
+
+  private UrlMappingsIndex(List<UrlMappingElement> mappings) {
+    this.mappings = mappings;
+    for (int i = 0; i < mappings.size(); i++) {
+      Node node = root;
+      for (UrlPath.PathSegment segment : mappings.get(i).getUrlPath().getSegments()) {
+        String literal = getLiteral(segment);
+        if (literal == null) {
+          break;
+        }
+        node = node.children.computeIfAbsent(literal, s -> new Node());
+      }
+      node.mappings.add(i);
+    }
+  }
+
+  /**
+   * Index is rebuilt only when the mappings of the module are recomputed.
+   */
+  static UrlMappingsIndex from(Module module) {
+    return CachedValuesManager.getManager(module.getProject()).getCachedValue(module, () -> {
+      UrlMappingsIndex index = new UrlMappingsIndex(WebMvcUtils.getUrlMappings(module));
+      return CachedValueProvider.Result.create(index,
+              InfraModificationTrackersManager.from(module.getProject()).getEndpointsModificationTracker());
+    });
+  }
+
+  /**
+   * @return mappings compatible with given path, in declaration order
+   */
+  List<UrlMappingElement> getMatching(UrlPath urlPath) {
+    BitSet candidates = new BitSet(mappings.size());
+    Node node = root;
+    for (UrlPath.PathSegment segment : urlPath.getSegments()) {
+      node.collect(candidates);
+      String literal = getLiteral(segment);
+      if (literal == null) {
+        // any mapping under this prefix may match a variable part of the request
+        break;
+      }
+      node = node.children.get(literal);
+      if (node == null) {
+        break;
+      }
+    }
+    if (node != null) {
+      node.collectAll(candidates);
+    }
+
+    SmartList<UrlMappingElement> result = new SmartList<>();
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      ProgressManager.checkCanceled();
+      UrlMappingElement mapping = mappings.get(i);
+      if (mapping.getUrlPath().isCompatibleWith(urlPath)) {
+        result.add(mapping);
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private static String getLiteral(UrlPath.PathSegment segment) {
+    if (segment instanceof UrlPath.PathSegment.Exact exact) {
+      String value = exact.getValue();
+      if (!value.isEmpty() && !isPattern(value)) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isPattern(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      switch (value.charAt(i)) {
+        case '*', '?', '{', '}', '$' -> {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static final class Node {
+    final Map<String, Node> children = new HashMap<>();
+
+    final TIntArrayList mappings = new TIntArrayList(0);
+
+    void collect(BitSet result) {
+      for (int i = 0; i < mappings.size(); i++) {
+        result.set(mappings.getQuick(i));
+      }
+    }
+
+    void collectAll(BitSet result) {
+      collect(result);
+      for (Node child : children.values()) {
+        child.collectAll(result);
+      }
+    }
+  }
+
+}
@@ -46,7 +46,6 @@ import com.intellij.uast.UastModificationTracker;
 import com.intellij.util.CommonProcessors;
 import com.intellij.util.Plow;
 import com.intellij.util.Processor;
-import com.intellij.util.SmartList;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.containers.MultiMap;
 
@@ -188,25 +187,22 @@ public final class WebMvcUtils {
   }
 
   public static Collection<UrlMappingElement> getMatchingUrlMappings(Module module, UrlPath urlPath) {
-    String servletInfoUrl;
-    List<UrlMappingElement> urlMappings = getUrlMappings(module);
+    UrlMappingsIndex index = UrlMappingsIndex.from(module);
+    List<UrlMappingElement> result = index.getMatching(urlPath);
+    if (!result.isEmpty()) {
+      return result;
+    }
     String url = urlPath.getPresentation(UrlPath.FULL_PATH_VARIABLE_PRESENTATION);
-    SmartList smartList = new SmartList(getResolvedResults(urlMappings, urlPath));
     for (ServletMappingInfo info : getServletMappingInfos(module)) {
-      if (smartList.isEmpty() && info.getType() == ServletMappingType.EXTENSION && !info.matches(url) && (servletInfoUrl = info.addMapping(url)) != null && !servletInfoUrl.equals(url)) {
-        smartList.addAll(getResolvedResults(urlMappings, InfraMvcUrlPathSpecification.INSTANCE.parsePath(servletInfoUrl)));
-      }
-    }
-    return smartList;
-  }
-
-  private static List<UrlMappingElement> getResolvedResults(List<UrlMappingElement> urlMappings, UrlPath urlPath) {
-    SmartList smartList = new SmartList();
-    for (UrlMappingElement mapping : urlMappings) {
-      if (mapping.getUrlPath().isCompatibleWith(urlPath)) {
-        ContainerUtil.addIfNotNull(smartList, mapping);
+      String servletInfoUrl;
+      if (info.getType() == ServletMappingType.EXTENSION && !info.matches(url)
+              && (servletInfoUrl = info.addMapping(url)) != null && !servletInfoUrl.equals(url)) {
+        result = index.getMatching(InfraMvcUrlPathSpecification.INSTANCE.parsePath(servletInfoUrl));
+        if (!result.isEmpty()) {
+          return result;
+        }
       }
     }
-    return smartList;
+    return result;
   }
 }